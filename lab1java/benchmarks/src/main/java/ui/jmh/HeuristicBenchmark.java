@@ -0,0 +1,60 @@
+package ui.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.Config;
+import ui.heuristic.Heuristic;
+import ui.model.CompactGraph;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of the heuristic checks, including formatting their report.
+ *
+ * <p>{@link ui.Solution#out} wraps the {@code System.out} seen when it is initialized, so standard output is replaced
+ * with a discarding stream before anything touches it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class HeuristicBenchmark {
+
+    @Param({"istra.txt", "ai.txt", "test_case_1.txt", "grid-10000", "grid-1000000"})
+    public String map;
+
+    private CompactGraph graph;
+
+    private Config config;
+
+    @Setup
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        graph = Maps.load(map);
+        config = new Config();
+        config.setHeuristicsFilePath(map);
+    }
+
+    @Benchmark
+    public void isOptimistic() {
+        Heuristic.isOptimistic(graph, config);
+    }
+
+    @Benchmark
+    public void isConsistent() {
+        Heuristic.isConsistent(graph, config);
+    }
+}
@@ -0,0 +1,85 @@
+package ui.jmh;
+
+import ui.DataLoader;
+import ui.model.CompactGraph;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * State spaces used by the benchmarks: the bundled maps, loaded with their heuristics, and square grids generated
+ * from a size given as {@code grid-<states>}.
+ *
+ * <p>Bundled maps are read from the directory in the {@code files} system property, {@code ../files/} by default.
+ */
+final class Maps {
+
+    private static final Map<String, String> HEURISTICS = Map.of(
+        "istra.txt", "istra_heuristic.txt",
+        "ai.txt", "ai_pass.txt",
+        "test_case_1.txt", "test_case_1_heuristic.txt"
+    );
+
+    private static final String GRID = "grid-";
+
+    private Maps() {
+    }
+
+    static CompactGraph load(String map) {
+        if (map.startsWith(GRID)) {
+            return grid(Integer.parseInt(map.substring(GRID.length())));
+        }
+
+        final var loader = new DataLoader(System.getProperty("files", "../files/"));
+        final var graph = loader.loadCompactStates(map);
+        final var heuristic = HEURISTICS.get(map);
+        if (heuristic != null) {
+            loader.loadHeuristicValues(heuristic, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Builds a 4-connected grid of about {@code states} cells with random costs in {@code [1, 9]}, from the top-left to
+     * the bottom-right corner. The heuristic is the Manhattan distance, which is consistent since every step costs at
+     * least 1.
+     */
+    static CompactGraph grid(int states) {
+        final var side = (int) Math.ceil(Math.sqrt(states));
+        final var random = new Random(side);
+        final var builder = new CompactGraph.Builder();
+        final var ids = new int[side * side];
+        for (var i = 0; i < ids.length; i++) {
+            ids[i] = builder.addState(String.format("r%05dc%05d", i / side, i % side));
+        }
+
+        for (var row = 0; row < side; row++) {
+            for (var column = 0; column < side; column++) {
+                final var cell = ids[row * side + column];
+                if (row > 0) {
+                    builder.addEdge(cell, ids[(row - 1) * side + column], 1 + random.nextInt(9));
+                }
+                if (row < side - 1) {
+                    builder.addEdge(cell, ids[(row + 1) * side + column], 1 + random.nextInt(9));
+                }
+                if (column > 0) {
+                    builder.addEdge(cell, ids[row * side + column - 1], 1 + random.nextInt(9));
+                }
+                if (column < side - 1) {
+                    builder.addEdge(cell, ids[row * side + column + 1], 1 + random.nextInt(9));
+                }
+            }
+        }
+        builder.setStartState(ids[0]);
+        builder.addEndState(ids[ids.length - 1]);
+
+        final var graph = builder.build();
+        final var heuristicValues = new double[graph.size()];
+        for (var state = 0; state < graph.size(); state++) {
+            // ids follow name order, which is row-major for the zero-padded names
+            heuristicValues[state] = (side - 1 - state / side) + (side - 1 - state % side);
+        }
+        graph.setHeuristicValues(heuristicValues);
+        return graph;
+    }
+}
@@ -0,0 +1,53 @@
+package ui.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.Solution;
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of one search from the start state of each map. Run with {@code -prof gc} for
+ * allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SearchBenchmark {
+
+    @Param({"istra.txt", "ai.txt", "test_case_1.txt", "grid-10000", "grid-1000000", "grid-10000000"})
+    public String map;
+
+    @Param({"bfs", "ucs", "astar"})
+    public String algorithm;
+
+    private CompactGraph graph;
+
+    private SearchAlgorithm search;
+
+    @Setup
+    public void setUp() {
+        graph = Maps.load(map);
+        search = Solution.ALGORITHMS.get(algorithm);
+    }
+
+    @Benchmark
+    public SearchResult find() {
+        return search.find(graph, graph.getStartState(), graph::isEndState);
+    }
+}
@@ -0,0 +1,61 @@
+package ui;
+
+import ui.model.CompactGraph;
+import ui.metrics.SearchMetrics;
+import ui.model.Query;
+import ui.result.ResultFormat;
+import ui.result.SearchResult;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a batch of queries against one loaded graph on a fixed thread pool.
+ *
+ * <p>The graph is only read by the searches, so all workers share it. Results are printed in query order: at most a
+ * few queries per worker are in flight, and the oldest one is printed before another is submitted.
+ */
+public class BatchSearch {
+
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private BatchSearch() {
+    }
+
+    public static void run(CompactGraph graph, List<Query> queries, int threads, ResultFormat format) {
+        final var executor = Executors.newFixedThreadPool(threads);
+        final var pending = new ArrayDeque<Future<SearchResult>>();
+        if (format.header() != null) {
+            Solution.out.println(format.header());
+        }
+        try {
+            for (final var query : queries) {
+                if (pending.size() == threads * IN_FLIGHT_PER_THREAD) {
+                    format.write(Solution.out, pending.remove().get());
+                }
+                pending.add(executor.submit(() -> find(graph, query)));
+            }
+            while (!pending.isEmpty()) {
+                format.write(Solution.out, pending.remove().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SearchResult find(CompactGraph graph, Query query) {
+        final var searchAlgorithm = query.getAlgorithm() == null ? null : Solution.ALGORITHMS.get(query.getAlgorithm());
+        if (searchAlgorithm == null || query.getStartState() < 0) {
+            return new SearchResult(String.valueOf(query.getAlgorithm()), false, 0, graph, null);
+        }
+        return Solution.search(searchAlgorithm, graph, query.getStartState(), query::isEndState, new SearchMetrics());
+    }
+}
@@ -1,5 +1,7 @@
 package ui;
 
+import ui.heuristic.Heuristic;
+
 public class Config {
 
     private String algorithm;
@@ -12,6 +14,30 @@ public class Config {
 
     private boolean checkConsistent;
 
+    private String optimisticCheckMode = Heuristic.REVERSE;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private boolean cache;
+
+    private String queriesFilePath;
+
+    private int nodeBudget = 1_000_000;
+
+    private String space;
+
+    private int landmarks = 8;
+
+    private String editsFilePath;
+
+    private String output;
+
+    private double weight = 3.0;
+
+    private long timeBudget;
+
+    private long expansionBudget;
+
     public String getAlgorithm() {
         return algorithm;
     }
@@ -51,4 +77,100 @@ public class Config {
     public void setCheckConsistent(boolean checkConsistent) {
         this.checkConsistent = checkConsistent;
     }
+
+    public String getOptimisticCheckMode() {
+        return optimisticCheckMode;
+    }
+
+    public void setOptimisticCheckMode(String optimisticCheckMode) {
+        this.optimisticCheckMode = optimisticCheckMode;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isCache() {
+        return cache;
+    }
+
+    public void setCache(boolean cache) {
+        this.cache = cache;
+    }
+
+    public String getQueriesFilePath() {
+        return queriesFilePath;
+    }
+
+    public void setQueriesFilePath(String queriesFilePath) {
+        this.queriesFilePath = queriesFilePath;
+    }
+
+    public int getNodeBudget() {
+        return nodeBudget;
+    }
+
+    public void setNodeBudget(int nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    public String getSpace() {
+        return space;
+    }
+
+    public void setSpace(String space) {
+        this.space = space;
+    }
+
+    public int getLandmarks() {
+        return landmarks;
+    }
+
+    public void setLandmarks(int landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    public String getEditsFilePath() {
+        return editsFilePath;
+    }
+
+    public void setEditsFilePath(String editsFilePath) {
+        this.editsFilePath = editsFilePath;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    public long getExpansionBudget() {
+        return expansionBudget;
+    }
+
+    public void setExpansionBudget(long expansionBudget) {
+        this.expansionBudget = expansionBudget;
+    }
 }
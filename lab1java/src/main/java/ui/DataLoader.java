@@ -1,98 +1,170 @@
 package ui;
 
-import ui.model.Graph;
-import ui.model.Node;
+import ui.heuristic.Landmarks;
+import ui.model.CompactGraph;
+import ui.model.ContractionHierarchy;
+import ui.model.GraphEdit;
+import ui.model.Query;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.OptionalInt;
 
 public class DataLoader {
 
     private final String dataPath;
 
+    private boolean snapshots;
+
     public DataLoader(String dataPath) {
         this.dataPath = dataPath;
     }
 
-    public Graph loadStates(String fileName) {
-        final var lines = readFile(fileName);
+    /**
+     * Enables binary snapshots of the loaded compact graphs and heuristic values, see {@link SnapshotCache}.
+     */
+    public void setSnapshots(boolean snapshots) {
+        this.snapshots = snapshots;
+    }
 
-        final var graph = new Graph();
-        int i = 0;
+    public CompactGraph loadCompactStates(String fileName) {
+        final var path = Paths.get(dataPath + fileName);
 
-        for (final var line : lines) {
-            if (line.charAt(0) == '#') {
-                continue;
+        try {
+            return snapshots ? SnapshotCache.loadStates(path) : MappedStateSpaceParser.parse(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return new CompactGraph.Builder().build();
+    }
+
+    public void loadHeuristicValues(String fileName, CompactGraph graph) {
+        if (snapshots) {
+            try {
+                final var path = Paths.get(dataPath + fileName);
+                graph.setHeuristicValues(
+                    SnapshotCache.loadHeuristicValues(path, graph, () -> parseHeuristicValues(fileName, graph))
+                );
+                return;
+            } catch (IOException e) {
+                e.printStackTrace();
             }
+        }
 
-            var split = line.split(":");
-            var nodeId = split[0];
+        graph.setHeuristicValues(parseHeuristicValues(fileName, graph));
+    }
 
-            if (i == 0) {
-                i++;
-                var node = new Node(nodeId);
-                graph.setStartState(node);
-                graph.nodes.put(nodeId, node);
+    /**
+     * Loads the ALT landmark tables stored next to the state space file, building and storing them first if they are
+     * missing or were made for another version of the file or another landmark count.
+     */
+    public Landmarks loadLandmarks(String fileName, CompactGraph graph, int count) {
+        try {
+            return SnapshotCache.loadLandmarks(Paths.get(dataPath + fileName), graph, count);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
 
-                continue;
-            }
-            if (i == 1) {
-                i++;
-                final var nodes = Arrays.stream(nodeId.split(" "))
-                    .map(Node::new)
-                    .collect(Collectors.toList());
-                graph.setEndStates(nodes);
-                for (final var node : nodes) {
-                    graph.nodes.put(node.getId(), node);
-                }
+        return Landmarks.build(graph, count);
+    }
 
-                continue;
-            }
+    /**
+     * Loads the contraction hierarchy stored next to the state space file, building and storing it first if it is
+     * missing or was made for another version of the file.
+     */
+    public ContractionHierarchy loadContractionHierarchy(String fileName, CompactGraph graph) {
+        try {
+            return SnapshotCache.loadContractionHierarchy(Paths.get(dataPath + fileName), graph);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return ContractionHierarchy.build(graph);
+    }
 
-            var node = graph.getNodeById(nodeId).orElseGet(() -> {
-                final var n = new Node(nodeId);
-                graph.nodes.put(nodeId, n);
-                return n;
-            });
+    private double[] parseHeuristicValues(String fileName, CompactGraph graph) {
+        final var lines = readFile(fileName);
+        final var values = graph.getHeuristicValues();
 
-            if (split.length == 1) {
+        for (final var line : lines) {
+            final var split = line.split(": ");
+            final var heuristicValue = Double.parseDouble(split[1]);
+            graph.getStateId(split[0]).ifPresent(state -> values[state] = heuristicValue);
+        }
+
+        return values;
+    }
+
+    /**
+     * Loads batch queries, one per line in the form {@code start: goal1 goal2 ...: algorithm}. The algorithm may be
+     * left out, in which case {@code defaultAlgorithm} is used. Goal names not in the graph are ignored.
+     */
+    public List<Query> loadQueries(String fileName, CompactGraph graph, String defaultAlgorithm) {
+        final var lines = readFile(fileName);
+        final var queries = new ArrayList<Query>(lines.size());
+
+        for (final var line : lines) {
+            if (line.isBlank() || line.charAt(0) == '#') {
                 continue;
             }
-            final var connectedNodes = split[1].trim();
-
-            for (final var n : connectedNodes.split(" ")) {
-                split = n.split(",");
-                final var id = split[0].trim();
-                final var cost = Double.parseDouble(split[1]);
-
-                graph.getNodeById(id).ifPresentOrElse(
-                    existing -> node.getConnectedNodes().put(existing, cost),
-                    () -> {
-                        final Node newNode = new Node(id);
-                        graph.nodes.put(id, newNode);
-                        node.getConnectedNodes().put(newNode, cost);
-                    }
-                );
+
+            final var split = line.split(":");
+            final var startState = graph.getStateId(split[0].trim()).orElse(-1);
+            final var endStates = new BitSet(graph.size());
+            if (split.length > 1) {
+                for (final var name : split[1].trim().split(" ")) {
+                    graph.getStateId(name).ifPresent(endStates::set);
+                }
             }
+            final var algorithm = split.length > 2 ? split[2].trim() : defaultAlgorithm;
+
+            queries.add(new Query(startState, endStates, algorithm));
         }
 
-        return graph;
+        return queries;
     }
 
-    public void loadHeuristicValues(String fileName, Graph graph) {
+    /**
+     * Loads batches of graph edits separated by blank lines. A line {@code from -> to: cost} changes the cost of an
+     * existing edge and {@code state: value} the heuristic value of a state. Lines naming unknown states are ignored.
+     */
+    public List<List<GraphEdit>> loadEdits(String fileName, CompactGraph graph) {
         final var lines = readFile(fileName);
+        final var batches = new ArrayList<List<GraphEdit>>();
+        var batch = new ArrayList<GraphEdit>();
 
         for (final var line : lines) {
-            final var split = line.split(": ");
-            final var nodeId = split[0];
-            final var heuristicValue = Double.parseDouble(split[1]);
-            graph.getNodeById(nodeId).ifPresent(node -> node.setHeuristicValue(heuristicValue));
+            if (line.isBlank()) {
+                if (!batch.isEmpty()) {
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                }
+                continue;
+            }
+            if (line.charAt(0) == '#') {
+                continue;
+            }
+
+            final var split = line.split(":");
+            final var value = Double.parseDouble(split[1].trim());
+            final var states = split[0].split("->");
+            final var from = graph.getStateId(states[0].trim());
+            final var to = states.length > 1 ? graph.getStateId(states[1].trim()) : OptionalInt.of(GraphEdit.HEURISTIC);
+            if (from.isPresent() && to.isPresent()) {
+                batch.add(new GraphEdit(from.getAsInt(), to.getAsInt(), value));
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
         }
+
+        return batches;
     }
 
     private List<String> readFile(String fileName) {
@@ -0,0 +1,273 @@
+package ui;
+
+import ui.model.CompactGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Parses a state space file straight from a memory-mapped {@link FileChannel} into a {@link CompactGraph.Builder}.
+ *
+ * <p>Lines are tokenized on the mapped bytes. A state name is decoded into a {@code String} only the first time it is
+ * seen; after that it is resolved through a hash table over the raw bytes. Costs are parsed from the bytes as well,
+ * falling back to {@link Double#parseDouble(String)} for anything but plain decimals. Files larger than one mapping
+ * are read in windows that always start at a line boundary.
+ */
+final class MappedStateSpaceParser {
+
+    private static final long WINDOW = 1L << 30;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final CompactGraph.Builder builder = new CompactGraph.Builder();
+
+    private final NameTable names = new NameTable();
+
+    private ByteBuffer buffer;
+
+    private int lineIndex;
+
+    private MappedStateSpaceParser() {
+    }
+
+    static CompactGraph parse(Path path) throws IOException {
+        final var parser = new MappedStateSpaceParser();
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            var base = 0L;
+            while (base < size) {
+                final var length = Math.min(WINDOW, size - base);
+                parser.buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+                final var consumed = parser.parseLines(base + length == size);
+                if (consumed == 0) {
+                    throw new IOException("Line at offset " + base + " is longer than " + WINDOW + " bytes");
+                }
+                base += consumed;
+            }
+        }
+        return parser.builder.build();
+    }
+
+    /**
+     * Parses every complete line of the current window and returns the number of bytes consumed. An unterminated
+     * line at the end is left for the next window unless this is the last one.
+     */
+    private int parseLines(boolean last) {
+        final var limit = buffer.limit();
+        var start = 0;
+        while (start < limit) {
+            var end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            if (end == limit && !last) {
+                return start;
+            }
+            parseLine(start, end > start && buffer.get(end - 1) == '\r' ? end - 1 : end);
+            start = end + 1;
+        }
+        return limit;
+    }
+
+    private void parseLine(int start, int end) {
+        if (start == end || buffer.get(start) == '#') {
+            return;
+        }
+
+        var colon = start;
+        while (colon < end && buffer.get(colon) != ':') {
+            colon++;
+        }
+
+        if (lineIndex == 0) {
+            lineIndex++;
+            builder.setStartState(state(start, colon));
+            return;
+        }
+        if (lineIndex == 1) {
+            lineIndex++;
+            for (var i = start; i < colon; ) {
+                var tokenEnd = i;
+                while (tokenEnd < colon && buffer.get(tokenEnd) != ' ') {
+                    tokenEnd++;
+                }
+                if (tokenEnd > i) {
+                    builder.addEndState(state(i, tokenEnd));
+                }
+                i = tokenEnd + 1;
+            }
+            return;
+        }
+
+        final var node = state(start, colon);
+        for (var i = colon + 1; i < end; ) {
+            if (buffer.get(i) == ' ') {
+                i++;
+                continue;
+            }
+            var comma = i;
+            while (comma < end && buffer.get(comma) != ',') {
+                comma++;
+            }
+            var tokenEnd = comma;
+            while (tokenEnd < end && buffer.get(tokenEnd) != ' ') {
+                tokenEnd++;
+            }
+            builder.addEdge(node, state(i, comma), cost(comma + 1, tokenEnd));
+            i = tokenEnd;
+        }
+    }
+
+    private int state(int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        return names.resolve(buffer, start, end, builder);
+    }
+
+    private double cost(int start, int end) {
+        var i = start;
+        final var negative = i < end && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        var digits = 0L;
+        var count = 0;
+        var fraction = -1;
+        for (; i < end; i++) {
+            final var b = buffer.get(i);
+            if (b == '.' && fraction < 0) {
+                fraction = 0;
+                continue;
+            }
+            if (b < '0' || b > '9' || count == 15) {
+                return slowCost(start, end);
+            }
+            digits = digits * 10 + (b - '0');
+            count++;
+            if (fraction >= 0) {
+                fraction++;
+            }
+        }
+        if (count == 0) {
+            return slowCost(start, end);
+        }
+        // both operands are exact doubles, so the division is correctly rounded like Double.parseDouble
+        final var value = fraction > 0 ? digits / POWERS_OF_TEN[fraction] : (double) digits;
+        return negative ? -value : value;
+    }
+
+    private double slowCost(int start, int end) {
+        final var bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return Double.parseDouble(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Open-addressing hash table from the UTF-8 bytes of a state name to its builder id.
+     */
+    private static final class NameTable {
+
+        private byte[] bytes = new byte[1 << 12];
+
+        private int bytesSize;
+
+        private int[] offsets = new int[1 << 8];
+
+        private int[] lengths = new int[1 << 8];
+
+        private int[] hashes = new int[1 << 8];
+
+        private int[] ids = new int[1 << 8];
+
+        private int[] slots = new int[1 << 9];
+
+        private int size;
+
+        private NameTable() {
+            Arrays.fill(slots, -1);
+        }
+
+        int resolve(ByteBuffer buffer, int start, int end, CompactGraph.Builder builder) {
+            var hash = 1;
+            for (var i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            final var mask = slots.length - 1;
+            var slot = mix(hash) & mask;
+            while (slots[slot] >= 0) {
+                final var entry = slots[slot];
+                if (hashes[entry] == hash && matches(entry, buffer, start, end)) {
+                    return ids[entry];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            final var length = end - start;
+            if (bytesSize + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesSize + length));
+            }
+            buffer.get(start, bytes, bytesSize, length);
+            final var id = builder.addState(new String(bytes, bytesSize, length, StandardCharsets.UTF_8));
+
+            if (size == ids.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            offsets[size] = bytesSize;
+            lengths[size] = length;
+            hashes[size] = hash;
+            ids[size] = id;
+            bytesSize += length;
+            slots[slot] = size++;
+
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private boolean matches(int entry, ByteBuffer buffer, int start, int end) {
+            if (lengths[entry] != end - start) {
+                return false;
+            }
+            final var offset = offsets[entry];
+            for (var i = 0; i < lengths[entry]; i++) {
+                if (bytes[offset + i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            Arrays.fill(slots, -1);
+            final var mask = slots.length - 1;
+            for (var entry = 0; entry < size; entry++) {
+                var slot = mix(hashes[entry]) & mask;
+                while (slots[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry;
+            }
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ui;
+
+import ui.heuristic.Landmarks;
+import ui.model.CompactGraph;
+import ui.model.ContractionHierarchy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshots of loaded state spaces and heuristic values, stored next to the text file as
+ * {@code <file>.csr}.
+ *
+ * <p>Every snapshot starts with the size, modification time and CRC32C checksum of the text file it was made from.
+ * A snapshot is used when the size and time still match. If only the time changed, the checksum decides, and a
+ * matching snapshot gets the new time written into its header. Heuristic snapshots also record the number of states
+ * and a checksum of the state names, since they store values by state id, and so do the landmark tables and the
+ * contraction hierarchy, which are kept in {@code <file>.landmarks} and {@code <file>.ch}. Snapshots are written to
+ * a temporary file and moved into place, and ones that do not fit in a single mapping are not used.
+ */
+final class SnapshotCache {
+
+    static final String SUFFIX = ".csr";
+
+    static final String LANDMARK_SUFFIX = ".landmarks";
+
+    static final String HIERARCHY_SUFFIX = ".ch";
+
+    private static final int GRAPH_MAGIC = 0x43535247;
+
+    private static final int HEURISTIC_MAGIC = 0x43535248;
+
+    private static final int LANDMARK_MAGIC = 0x4353524C;
+
+    private static final int HIERARCHY_MAGIC = 0x43535243;
+
+    private static final int VERSION = 1;
+
+    private static final int MODIFIED_OFFSET = 16;
+
+    private SnapshotCache() {
+    }
+
+    static CompactGraph loadStates(Path source) throws IOException {
+        final var snapshot = snapshotPath(source, SUFFIX);
+        final var buffer = map(snapshot, GRAPH_MAGIC, source);
+        if (buffer != null) {
+            return CompactGraph.read(buffer);
+        }
+
+        final var graph = MappedStateSpaceParser.parse(source);
+        write(snapshot, GRAPH_MAGIC, source, graph::write);
+        return graph;
+    }
+
+    static double[] loadHeuristicValues(Path source, CompactGraph graph, HeuristicParser parser) throws IOException {
+        final var snapshot = snapshotPath(source, SUFFIX);
+        final var buffer = map(snapshot, HEURISTIC_MAGIC, source);
+        final var checksum = namesChecksum(graph);
+        if (buffer != null && buffer.getInt() == graph.size() && buffer.getLong() == checksum) {
+            final var values = new double[graph.size()];
+            buffer.asDoubleBuffer().get(values);
+            return values;
+        }
+
+        final var values = parser.parse();
+        write(snapshot, HEURISTIC_MAGIC, source, out -> {
+            out.writeInt(graph.size());
+            out.writeLong(checksum);
+            for (final var value : values) {
+                out.writeDouble(value);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Returns the landmark tables of {@code source} if they were built for this graph with {@code count} landmarks,
+     * and builds and stores them otherwise.
+     */
+    static Landmarks loadLandmarks(Path source, CompactGraph graph, int count) throws IOException {
+        final var snapshot = snapshotPath(source, LANDMARK_SUFFIX);
+        final var buffer = map(snapshot, LANDMARK_MAGIC, source);
+        final var checksum = namesChecksum(graph);
+        if (buffer != null && buffer.getInt() == count && buffer.getLong() == checksum) {
+            return Landmarks.read(buffer);
+        }
+
+        final var landmarks = Landmarks.build(graph, count);
+        write(snapshot, LANDMARK_MAGIC, source, out -> {
+            out.writeInt(count);
+            out.writeLong(checksum);
+            landmarks.write(out);
+        });
+        return landmarks;
+    }
+
+    /**
+     * Returns the contraction hierarchy of {@code source} if it was built for this graph, and builds and stores it
+     * otherwise.
+     */
+    static ContractionHierarchy loadContractionHierarchy(Path source, CompactGraph graph) throws IOException {
+        final var snapshot = snapshotPath(source, HIERARCHY_SUFFIX);
+        final var buffer = map(snapshot, HIERARCHY_MAGIC, source);
+        final var checksum = namesChecksum(graph);
+        if (buffer != null && buffer.getLong() == checksum) {
+            return ContractionHierarchy.read(buffer);
+        }
+
+        final var hierarchy = ContractionHierarchy.build(graph);
+        write(snapshot, HIERARCHY_MAGIC, source, out -> {
+            out.writeLong(checksum);
+            hierarchy.write(out);
+        });
+        return hierarchy;
+    }
+
+    private static Path snapshotPath(Path source, String suffix) {
+        return source.resolveSibling(source.getFileName() + suffix);
+    }
+
+    /**
+     * Maps a snapshot and returns it positioned after the header, or {@code null} if it is missing or stale.
+     */
+    private static ByteBuffer map(Path snapshot, int magic, Path source) throws IOException {
+        if (!Files.isRegularFile(snapshot) || Files.size(snapshot) > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        final ByteBuffer buffer;
+        try (final var channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < MODIFIED_OFFSET + 2 * Long.BYTES
+            || buffer.getInt() != magic
+            || buffer.getInt() != VERSION) {
+            return null;
+        }
+        final var size = buffer.getLong();
+        final var modified = buffer.getLong();
+        final var checksum = buffer.getLong();
+
+        if (size != Files.size(source)) {
+            return null;
+        }
+        final var sourceModified = Files.getLastModifiedTime(source).toMillis();
+        if (modified != sourceModified) {
+            if (checksum != checksum(source)) {
+                return null;
+            }
+            try (final var channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sourceModified), MODIFIED_OFFSET);
+            }
+        }
+        return buffer;
+    }
+
+    private static void write(Path snapshot, int magic, Path source, Body body) throws IOException {
+        final var temporary = Files.createTempFile(snapshot.toAbsolutePath().getParent(), ".snapshot", SUFFIX);
+        try {
+            final var stream = new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16);
+            try (final var out = new DataOutputStream(stream)) {
+                out.writeInt(magic);
+                out.writeInt(VERSION);
+                out.writeLong(Files.size(source));
+                out.writeLong(Files.getLastModifiedTime(source).toMillis());
+                out.writeLong(checksum(source));
+                body.write(out);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static long checksum(Path source) throws IOException {
+        final var crc = new CRC32C();
+        try (final var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            for (var position = 0L; position < size; position += Integer.MAX_VALUE) {
+                final var length = Math.min(Integer.MAX_VALUE, size - position);
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static long namesChecksum(CompactGraph graph) {
+        final var crc = new CRC32C();
+        for (var state = 0; state < graph.size(); state++) {
+            crc.update(graph.getName(state).getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+
+        void write(DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface HeuristicParser {
+
+        double[] parse();
+    }
+}
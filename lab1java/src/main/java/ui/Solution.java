@@ -1,44 +1,113 @@
 package ui;
 
+import ui.algorithm.IncrementalSearch;
+import ui.algorithm.IncrementalSearchAlgorithm;
 import ui.algorithm.SearchAlgorithm;
+import ui.algorithm.StateSpaceSearchAlgorithm;
 import ui.algorithm.impl.AStar;
+import ui.algorithm.impl.AnytimeRepairingAStar;
+import ui.algorithm.impl.BidirectionalBreadthFirstSearch;
+import ui.algorithm.impl.BidirectionalDijkstra;
 import ui.algorithm.impl.BreadthFirstSearch;
+import ui.algorithm.impl.ContractionHierarchySearch;
+import ui.algorithm.impl.DStarLite;
+import ui.algorithm.impl.HashDistributedAStar;
+import ui.algorithm.impl.IterativeDeepeningAStar;
+import ui.algorithm.impl.LandmarkAStar;
+import ui.algorithm.impl.LifelongPlanningAStar;
+import ui.algorithm.impl.ParallelBreadthFirstSearch;
+import ui.algorithm.impl.SimplifiedMemoryBoundedAStar;
 import ui.algorithm.impl.UniformCostSearch;
 import ui.heuristic.Heuristic;
-import ui.model.Node;
+import ui.heuristic.Landmarks;
+import ui.metrics.Phase;
+import ui.metrics.SearchEvent;
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+import ui.model.ContractionHierarchy;
+import ui.model.GraphEdit;
+import ui.result.ResultFormat;
+import ui.result.ResultWriter;
 import ui.result.SearchResult;
+import ui.space.StateSpaces;
 
-import java.io.PrintStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Map.entry;
 
 public class Solution {
 
-    public static final PrintStream out = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+    /**
+     * Standard output, buffered and flushed once when {@link #main(String[])} finishes.
+     */
+    public static final ResultWriter out = new ResultWriter(System.out);
 
     private static final DataLoader DATA_LOADER = new DataLoader("files/");
 
     private static final Config CONFIG = new Config();
 
-    private static final Map<String, Consumer<String>> ARG_CONSUMERS = Map.of(
-        "--alg", CONFIG::setAlgorithm,
-        "--ss", CONFIG::setStatesFilePath,
-        "--h", CONFIG::setHeuristicsFilePath,
-        "--check-optimistic", arg -> CONFIG.setCheckOptimistic(true),
-        "--check-consistent", arg -> CONFIG.setCheckConsistent(true)
+    private static final Map<String, Consumer<String>> ARG_CONSUMERS = Map.ofEntries(
+        entry("--alg", CONFIG::setAlgorithm),
+        entry("--ss", CONFIG::setStatesFilePath),
+        entry("--h", CONFIG::setHeuristicsFilePath),
+        entry("--check-optimistic", arg -> CONFIG.setCheckOptimistic(true)),
+        entry("--check-consistent", arg -> CONFIG.setCheckConsistent(true)),
+        entry("--check-optimistic-mode", CONFIG::setOptimisticCheckMode),
+        entry("--threads", arg -> CONFIG.setThreads(Integer.parseInt(arg))),
+        entry("--cache", arg -> CONFIG.setCache(true)),
+        entry("--queries", CONFIG::setQueriesFilePath),
+        entry("--node-budget", arg -> CONFIG.setNodeBudget(Integer.parseInt(arg))),
+        entry("--space", CONFIG::setSpace),
+        entry("--landmarks", arg -> CONFIG.setLandmarks(Integer.parseInt(arg))),
+        entry("--edits", CONFIG::setEditsFilePath),
+        entry("--output", CONFIG::setOutput),
+        entry("--weight", arg -> CONFIG.setWeight(Double.parseDouble(arg))),
+        entry("--time-budget", arg -> CONFIG.setTimeBudget(Long.parseLong(arg))),
+        entry("--expansion-budget", arg -> CONFIG.setExpansionBudget(Long.parseLong(arg)))
     );
 
-    public static final Map<String, SearchAlgorithm> ALGORITHMS = Map.of(
-        "bfs", new BreadthFirstSearch(),
-        "ucs", new UniformCostSearch(),
-        "astar", new AStar()
+    public static final Map<String, SearchAlgorithm> ALGORITHMS = Map.ofEntries(
+        entry("bfs", new BreadthFirstSearch()),
+        entry("ucs", new UniformCostSearch()),
+        entry("astar", new AStar()),
+        entry("bibfs", new BidirectionalBreadthFirstSearch()),
+        entry("bidijkstra", new BidirectionalDijkstra()),
+        entry("idastar", new IterativeDeepeningAStar()),
+        entry("smastar", new SimplifiedMemoryBoundedAStar(CONFIG::getNodeBudget)),
+        entry("hdastar", new HashDistributedAStar(CONFIG::getThreads)),
+        entry("pbfs", new ParallelBreadthFirstSearch(CONFIG::getThreads)),
+        entry("alt", new LandmarkAStar(Solution::loadLandmarks)),
+        entry("ch", new ContractionHierarchySearch(Solution::loadContractionHierarchy)),
+        entry(
+            "arastar",
+            new AnytimeRepairingAStar(CONFIG::getWeight, CONFIG::getTimeBudget, CONFIG::getExpansionBudget)
+        ),
+        entry("lpastar", new LifelongPlanningAStar()),
+        entry("dstarlite", new DStarLite())
     );
 
+    private static CompactGraph landmarkGraph;
+
+    private static Landmarks landmarks;
+
+    private static CompactGraph hierarchyGraph;
+
+    private static ContractionHierarchy hierarchy;
+
     public static void main(String[] args) {
+        try {
+            run(args);
+        } finally {
+            out.flush();
+        }
+    }
+
+    private static void run(String[] args) {
         for (var i = 0; i < args.length; i += 2) {
             var consumer = ARG_CONSUMERS.get(args[i]);
             if (consumer != null) {
@@ -52,23 +121,48 @@ public class Solution {
             }
         }
 
-        final var graph = DATA_LOADER.loadStates(CONFIG.getStatesFilePath());
+        final var format = ResultFormat.parse(CONFIG.getOutput());
+        if (CONFIG.getSpace() != null) {
+            final var searchAlgorithm = ALGORITHMS.get(CONFIG.getAlgorithm());
+            if (searchAlgorithm == null) {
+                print(format, new SearchResult());
+            } else if (searchAlgorithm instanceof StateSpaceSearchAlgorithm) {
+                print(format, ((StateSpaceSearchAlgorithm) searchAlgorithm).find(StateSpaces.parse(CONFIG.getSpace())));
+            } else {
+                System.err.println("--alg " + CONFIG.getAlgorithm() + " does not search generated spaces, use one of "
+                                   + spaceAlgorithms());
+            }
+            return;
+        }
+
+        final var metrics = new SearchMetrics();
+        DATA_LOADER.setSnapshots(CONFIG.isCache());
+        final var graph = metrics.time(Phase.LOAD, () -> DATA_LOADER.loadCompactStates(CONFIG.getStatesFilePath()));
         if (CONFIG.getHeuristicsFilePath() != null) {
-            DATA_LOADER.loadHeuristicValues(CONFIG.getHeuristicsFilePath(), graph);
+            metrics.run(
+                Phase.HEURISTIC_LOAD, () -> DATA_LOADER.loadHeuristicValues(CONFIG.getHeuristicsFilePath(), graph)
+            );
         }
 
-        if (CONFIG.getAlgorithm() != null) {
+        IncrementalSearch incrementalSearch = null;
+        if (CONFIG.getQueriesFilePath() != null) {
+            final var queries = DATA_LOADER.loadQueries(CONFIG.getQueriesFilePath(), graph, CONFIG.getAlgorithm());
+            BatchSearch.run(graph, queries, CONFIG.getThreads(), format);
+        } else if (CONFIG.getAlgorithm() != null) {
             final var searchAlgorithm = ALGORITHMS.get(CONFIG.getAlgorithm());
 
-            final Function<Node, Collection<Node>> succ = node -> node.getConnectedNodes().keySet();
-            final Predicate<Node> goal =
-                node -> graph.getEndStates().stream().anyMatch(n -> n.getId().equals(node.getId()));
-
-            final var searchResult = searchAlgorithm == null
-                ? new SearchResult()
-                : searchAlgorithm.find(graph.getStartState(), succ, goal);
+            final SearchResult searchResult;
+            if (searchAlgorithm == null) {
+                searchResult = new SearchResult();
+            } else if (searchAlgorithm instanceof IncrementalSearchAlgorithm && CONFIG.getEditsFilePath() != null) {
+                incrementalSearch = ((IncrementalSearchAlgorithm) searchAlgorithm)
+                    .plan(graph, graph.getStartState(), graph::isEndState);
+                searchResult = search(incrementalSearch::search, metrics);
+            } else {
+                searchResult = search(searchAlgorithm, graph, graph.getStartState(), graph::isEndState, metrics);
+            }
 
-            out.println(searchResult);
+            print(format, searchResult);
         }
         if (CONFIG.isCheckOptimistic()) {
             Heuristic.isOptimistic(graph, CONFIG);
@@ -76,5 +170,105 @@ public class Solution {
         if (CONFIG.isCheckConsistent()) {
             Heuristic.isConsistent(graph, CONFIG);
         }
+        if (CONFIG.getEditsFilePath() != null) {
+            applyEdits(graph, DATA_LOADER.loadEdits(CONFIG.getEditsFilePath(), graph), incrementalSearch, format);
+        }
+    }
+
+    /**
+     * Applies the batches of edits, replanning after each one if the search is incremental and checking the
+     * heuristic unless only the search was asked for.
+     */
+    private static void applyEdits(
+        CompactGraph graph,
+        List<List<GraphEdit>> batches,
+        IncrementalSearch incrementalSearch,
+        ResultFormat format
+    ) {
+        if (incrementalSearch == null) {
+            Heuristic.checkEdits(graph, CONFIG, batches);
+            return;
+        }
+
+        final Consumer<List<GraphEdit>> replan = batch -> {
+            batch.forEach(incrementalSearch::apply);
+            format.write(out, search(incrementalSearch::search, new SearchMetrics()));
+        };
+        if (CONFIG.isCheckOptimistic() || CONFIG.isCheckConsistent()) {
+            Heuristic.checkEdits(graph, CONFIG, batches, replan);
+        } else {
+            batches.forEach(replan);
+        }
+    }
+
+    private static String spaceAlgorithms() {
+        return ALGORITHMS.entrySet().stream()
+            .filter(entry -> entry.getValue() instanceof StateSpaceSearchAlgorithm)
+            .map(Map.Entry::getKey)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Runs one search as the {@link Phase#SEARCH} phase of {@code metrics}, adds the counters the algorithm collected
+     * and records the search as a {@link SearchEvent}.
+     */
+    static SearchResult search(
+        SearchAlgorithm algorithm,
+        CompactGraph graph,
+        int s0,
+        IntPredicate goal,
+        SearchMetrics metrics
+    ) {
+        return search(() -> algorithm.find(graph, s0, goal), metrics);
+    }
+
+    private static SearchResult search(Supplier<SearchResult> search, SearchMetrics metrics) {
+        final var event = new SearchEvent();
+        event.begin();
+        final var result = metrics.time(Phase.SEARCH, search);
+        if (result.getMetrics() != null) {
+            metrics.add(result.getMetrics());
+        }
+        result.setMetrics(metrics);
+        if (event.shouldCommit()) {
+            event.setAlgorithm(result.getAlgorithm());
+            event.setFoundSolution(result.isFoundSolution());
+            event.setStatesVisited(result.getStatesVisited());
+            event.setMetrics(metrics);
+            event.setPathLength(result.getPathLength());
+            event.setTotalCost(result.getTotalCost());
+        }
+        event.commit();
+        return result;
+    }
+
+    private static void print(ResultFormat format, SearchResult result) {
+        if (format.header() != null) {
+            out.println(format.header());
+        }
+        format.write(out, result);
+    }
+
+    /**
+     * Loads the landmark tables of the state space file once per graph, for the ALT searches.
+     */
+    private static synchronized Landmarks loadLandmarks(CompactGraph graph) {
+        if (landmarkGraph != graph) {
+            landmarks = DATA_LOADER.loadLandmarks(CONFIG.getStatesFilePath(), graph, CONFIG.getLandmarks());
+            landmarkGraph = graph;
+        }
+        return landmarks;
+    }
+
+    /**
+     * Loads the contraction hierarchy of the state space file once per graph.
+     */
+    private static synchronized ContractionHierarchy loadContractionHierarchy(CompactGraph graph) {
+        if (hierarchyGraph != graph) {
+            hierarchy = DATA_LOADER.loadContractionHierarchy(CONFIG.getStatesFilePath(), graph);
+            hierarchyGraph = graph;
+        }
+        return hierarchy;
     }
 }
@@ -0,0 +1,22 @@
+package ui.algorithm;
+
+import ui.model.GraphEdit;
+import ui.result.SearchResult;
+
+/**
+ * One query of an {@link IncrementalSearchAlgorithm}, kept alive between changes to the graph so every search after
+ * the first only repairs what the changes affected.
+ */
+public interface IncrementalSearch {
+
+    /**
+     * Applies an edit to the graph and records what it affects for the next {@link #search()}.
+     */
+    void apply(GraphEdit edit);
+
+    /**
+     * Finds a path for the graph as it is now, the first time from scratch and afterwards reusing the previous
+     * search. The states visited are only the ones expanded by this call.
+     */
+    SearchResult search();
+}
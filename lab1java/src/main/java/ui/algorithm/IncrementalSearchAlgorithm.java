@@ -0,0 +1,23 @@
+package ui.algorithm;
+
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Search that can replan after edge costs or heuristic values change, reusing the work of the previous search.
+ */
+public interface IncrementalSearchAlgorithm extends SearchAlgorithm {
+
+    /**
+     * Sets up a query from {@code s0} to the states accepted by {@code goal}. Nothing is searched until
+     * {@link IncrementalSearch#search()}.
+     */
+    IncrementalSearch plan(CompactGraph graph, int s0, IntPredicate goal);
+
+    @Override
+    default SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        return plan(graph, s0, goal).search();
+    }
+}
@@ -1,20 +1,11 @@
 package ui.algorithm;
 
-import ui.model.Node;
+import ui.model.CompactGraph;
 import ui.result.SearchResult;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.IntPredicate;
 
 public interface SearchAlgorithm {
 
-    SearchResult find(Node s0, Function<Node, Collection<Node>> succ, Predicate<Node> goal);
-
-    List<Node> expand(Node n, Function<Node, Collection<Node>> succ);
-
-    SearchResult success(Node n, int statesVisited);
-
-    SearchResult fail(Node n, int statesVisited);
+    SearchResult find(CompactGraph graph, int s0, IntPredicate goal);
 }
@@ -0,0 +1,15 @@
+package ui.algorithm;
+
+import ui.result.SearchResult;
+import ui.space.StateSpace;
+
+/**
+ * Search that can also run on a generated {@link StateSpace}, which is never held in memory.
+ */
+public interface StateSpaceSearchAlgorithm extends SearchAlgorithm {
+
+    /**
+     * Searches a generated state space from its start state, detecting duplicates by the packed states.
+     */
+    SearchResult find(StateSpace space);
+}
@@ -1,15 +1,36 @@
 package ui.algorithm.impl;
 
-import ui.algorithm.SearchAlgorithm;
-import ui.model.Node;
+import ui.algorithm.StateSpaceSearchAlgorithm;
+import ui.metrics.Phase;
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+import ui.model.PackedNodePool;
+import ui.model.SearchNodePool;
 import ui.result.SearchResult;
+import ui.space.StateSpace;
+import ui.util.IndexedMinHeap;
+import ui.util.LongHashSet;
+import ui.util.MinHeap;
 
-import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
 
-public class AStar implements SearchAlgorithm {
+public class AStar implements StateSpaceSearchAlgorithm {
+
+    private final String name;
+
+    public AStar() {
+        this("ASTAR");
+    }
+
+    /**
+     * Creates an A* whose {@link CompactGraph} results are reported under {@code name}, for the searches that only
+     * bring their own heuristic.
+     */
+    AStar(String name) {
+        this.name = name;
+    }
 
     /**
      * A* algorithm
@@ -32,69 +53,123 @@ public class AStar implements SearchAlgorithm {
      * </pre>
      */
     @Override
-    public SearchResult find(Node s0, Function<Node, Collection<Node>> succ, Predicate<Node> goal) {
-        final var open = new PriorityQueue<>(Comparator.comparing(Node::getF));
-        open.add(s0);
-        final var visited = new HashMap<String, Node>();
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        return find(graph, s0, goal, graph::getHeuristicValue);
+    }
+
+    /**
+     * A* with the heuristic given as a function of the state id instead of the values stored in the graph.
+     */
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal, IntToDoubleFunction heuristic) {
+        final var nodes = new SearchNodePool(graph.size());
+        // every state is either in open or in closed at most once, so both are indexed by state id
+        final var open = new IndexedMinHeap(graph.size());
+        final var inOpen = new int[graph.size()];
+        final var closed = new int[graph.size()];
+        Arrays.fill(closed, SearchNodePool.NONE);
+        inOpen[s0] = nodes.add(s0, SearchNodePool.NONE, 0.0, heuristic.applyAsDouble(s0));
+        open.add(s0, nodes.getF(inOpen[s0]));
+        final var metrics = new SearchMetrics();
+        metrics.open(1);
+        var statesVisited = 0;
 
         while (!open.isEmpty()) {
-            var n = open.remove();
-            if (goal.test(n)) {
-                return success(n, visited.size());
+            final var state = open.remove();
+            final var n = inOpen[state];
+            if (goal.test(state)) {
+                return success(graph, nodes, n, statesVisited, metrics);
             }
-            visited.put(n.getId(), n);
-            for (var m : expand(n, succ)) {
-                if (visited.containsKey(m.getId()) || open.contains(m)) {
-                    var m_ = getM_(m.getId(), open, visited);
-                    if (m_.getG() < m.getG()) {
+            closed[state] = n;
+            statesVisited++;
+            for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                final var m = graph.getTarget(e);
+                final var g = nodes.getG(n) + graph.getCost(e);
+                final var f = g + heuristic.applyAsDouble(m);
+                if (open.contains(m)) {
+                    if (nodes.getG(inOpen[m]) < g) {
+                        metrics.duplicate();
+                        continue;
+                    }
+                    inOpen[m] = nodes.add(m, n, g, f);
+                    open.decreaseKey(m, f);
+                    metrics.generated();
+                    continue;
+                }
+                if (closed[m] != SearchNodePool.NONE) {
+                    if (nodes.getG(closed[m]) < g) {
+                        metrics.duplicate();
                         continue;
-                    } else {
-                        remove(m_, open, visited);
                     }
+                    closed[m] = SearchNodePool.NONE;
+                    statesVisited--;
+                    metrics.reopened();
                 }
-                open.add(m);
+                inOpen[m] = nodes.add(m, n, g, f);
+                open.add(m, f);
+                metrics.generated();
+                metrics.open(open.size());
             }
         }
 
-        return fail(null, visited.size());
+        return fail(graph, nodes, SearchNodePool.NONE, statesVisited, metrics);
     }
 
-    public void remove(Node m_, Queue<Node> open, Map<String, Node> visited) {
-        open.removeIf(node -> node.getId().equals(m_.getId()));
-        visited.remove(m_.getId());
-    }
+    /**
+     * A* over a generated space. Open may hold several nodes per state and the ones whose state was already closed
+     * are skipped when removed, so closed states are never reopened; that finds optimal paths for consistent
+     * heuristics like the ones of the bundled spaces.
+     */
+    @Override
+    public SearchResult find(StateSpace space) {
+        final var nodes = new PackedNodePool();
+        final var open = new MinHeap();
+        final var closed = new LongHashSet(1 << 16);
+        final var s0 = space.getStartState();
+        open.add(nodes.add(s0, PackedNodePool.NONE, 0.0), space.getHeuristicValue(s0));
 
-    public Node getM_(String id, Queue<Node> open, Map<String, Node> visited) {
-        var m_ = visited.get(id);
-        if (m_ != null) {
-            return m_;
+        while (!open.isEmpty()) {
+            final var n = open.remove();
+            final var state = nodes.getState(n);
+            if (!closed.add(state)) {
+                continue;
+            }
+            if (space.isEndState(state)) {
+                return new SearchResult("ASTAR", true, closed.size(), space, nodes, n);
+            }
+            space.forEachSuccessor(state, (m, cost) -> {
+                if (!closed.contains(m)) {
+                    final var g = nodes.getG(n) + cost;
+                    open.add(nodes.add(m, n, g), g + space.getHeuristicValue(m));
+                }
+            });
         }
-        m_ = open.stream().filter(node -> node.getId().equals(id)).findFirst().orElseThrow();
-        return m_;
-    }
 
-    @Override
-    public SearchResult success(Node n, int statesVisited) {
-        return new SearchResult("ASTAR", true, statesVisited + 1, n);
+        return new SearchResult("ASTAR", false, closed.size(), space, nodes, PackedNodePool.NONE);
     }
 
-    @Override
-    public SearchResult fail(Node n, int statesVisited) {
-        return new SearchResult("ASTAR", false, statesVisited, n);
+    private SearchResult success(
+        CompactGraph graph,
+        SearchNodePool nodes,
+        int n,
+        int statesVisited,
+        SearchMetrics metrics
+    ) {
+        final var result = metrics.time(
+            Phase.PATH_RECONSTRUCTION, () -> new SearchResult(name, true, statesVisited + 1, graph, nodes, n)
+        );
+        result.setMetrics(metrics);
+        return result;
     }
 
-    @Override
-    public List<Node> expand(Node n, Function<Node, Collection<Node>> succ) {
-        return succ.apply(n).stream()
-            .map(node -> {
-                final var newNode = new Node(node.getId());
-                newNode.setConnectedNodes(node.getConnectedNodes());
-                newNode.setParent(n);
-                newNode.setHeuristicValue(node.getHeuristicValue());
-                newNode.setG(n.getConnectedNodeCost(node) + n.getG());
-                newNode.setF(newNode.getG() + newNode.getHeuristicValue());
-                return newNode;
-            })
-            .collect(Collectors.toList());
+    private SearchResult fail(
+        CompactGraph graph,
+        SearchNodePool nodes,
+        int n,
+        int statesVisited,
+        SearchMetrics metrics
+    ) {
+        final var result = new SearchResult(name, false, statesVisited, graph, nodes, n);
+        result.setMetrics(metrics);
+        return result;
     }
 }
@@ -0,0 +1,240 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+import ui.util.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
+
+public class AnytimeRepairingAStar implements SearchAlgorithm {
+
+    private static final int NONE = -1;
+
+    // amount the inflation factor is lowered by after every improved solution
+    private static final double WEIGHT_STEP = 0.5;
+
+    private final DoubleSupplier weight;
+
+    private final LongSupplier timeBudget;
+
+    private final LongSupplier expansionBudget;
+
+    /**
+     * @param weight          initial inflation factor of the heuristic
+     * @param timeBudget      milliseconds the search may take, or 0 for no limit
+     * @param expansionBudget states the search may expand, or 0 for no limit
+     */
+    public AnytimeRepairingAStar(DoubleSupplier weight, LongSupplier timeBudget, LongSupplier expansionBudget) {
+        this.weight = weight;
+        this.timeBudget = timeBudget;
+        this.expansionBudget = expansionBudget;
+    }
+
+    /**
+     * ARA* algorithm
+     *
+     * <pre>
+     *function araStarSearch(s0, succ, goal, h, ε0)
+     *  ε ← ε0, open ← [initial(s0)]
+     *  loop
+     *      closed ← ∅, incons ← ∅
+     *      while min fε(open) < fε(best goal) do
+     *          n ← removeHead(open), closed ← closed ∪ { n }
+     *          for m ∈ expand(n) with a lower g than before do
+     *              if m ∈ closed then incons ← incons ∪ { m }
+     *              else insertSortedBy(fε, m, open)
+     *      ε' ← g(best goal) / min f(open ∪ incons)
+     *      publish best goal with bound ε'
+     *      if ε' ≤ 1 or the budget is spent then return
+     *      ε ← max(1, ε - step), open ← open ∪ incons
+     *where fε(n) = g(n) + ε · h(state(n)) and f(n) = g(n) + h(state(n))
+     * </pre>
+     *
+     * The first solution comes from a greedy weighted search, and every later iteration only expands states whose g
+     * improved since, instead of starting over. With an admissible heuristic the reported cost is at most ε' times
+     * the optimal one. ε' is usually below ε, but since an inconsistent heuristic can leave ε itself short of the
+     * truth, iterations go on at ε = 1 until ε' reaches 1. When the time or expansion budget runs out the best
+     * solution so far is returned, and the search fails only if there was none yet.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        return new Search(graph, goal).run(s0, Math.max(1.0, weight.getAsDouble()));
+    }
+
+    /**
+     * State of one search, shared by all its iterations.
+     */
+    private final class Search {
+
+        private final CompactGraph graph;
+
+        private final IntPredicate goal;
+
+        private final double[] g;
+
+        private final int[] parents;
+
+        private final IndexedMinHeap open;
+
+        private final BitSet closed;
+
+        private final BitSet incons;
+
+        private final long deadline;
+
+        private final long maxExpansions;
+
+        private int expansions;
+
+        private int best = NONE;
+
+        private Search(CompactGraph graph, IntPredicate goal) {
+            this.graph = graph;
+            this.goal = goal;
+            this.g = new double[graph.size()];
+            this.parents = new int[graph.size()];
+            this.open = new IndexedMinHeap(graph.size());
+            this.closed = new BitSet(graph.size());
+            this.incons = new BitSet(graph.size());
+            Arrays.fill(g, Double.POSITIVE_INFINITY);
+            Arrays.fill(parents, NONE);
+            final var millis = timeBudget.getAsLong();
+            this.deadline = millis > 0 ? System.nanoTime() + millis * 1_000_000 : Long.MAX_VALUE;
+            final var budget = expansionBudget.getAsLong();
+            this.maxExpansions = budget > 0 ? budget : Long.MAX_VALUE;
+        }
+
+        private SearchResult run(int s0, double initialWeight) {
+            g[s0] = 0.0;
+            if (goal.test(s0)) {
+                best = s0;
+            }
+            var epsilon = initialWeight;
+            open.add(s0, key(s0, epsilon));
+
+            while (true) {
+                final var complete = improvePath(epsilon);
+                if (best == NONE) {
+                    return result(null, Double.POSITIVE_INFINITY);
+                }
+                final var bound = bound();
+                if (!complete || bound <= 1.0 || budgetSpent()) {
+                    return result(path(best), bound);
+                }
+
+                epsilon = Math.max(1.0, epsilon - WEIGHT_STEP);
+                for (var s = incons.nextSetBit(0); s >= 0; s = incons.nextSetBit(s + 1)) {
+                    open.add(s, key(s, epsilon));
+                }
+                incons.clear();
+                reorder(epsilon);
+                closed.clear();
+            }
+        }
+
+        /**
+         * Expands states until no state in open could lead to a better goal under {@code epsilon}. Returns false if
+         * the budget ran out first.
+         */
+        private boolean improvePath(double epsilon) {
+            while (!open.isEmpty() && (best == NONE || open.getKey(open.peek()) < key(best, epsilon))) {
+                if (budgetSpent()) {
+                    return false;
+                }
+                final var state = open.remove();
+                closed.set(state);
+                expansions++;
+                for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                    final var m = graph.getTarget(e);
+                    final var cost = g[state] + graph.getCost(e);
+                    if (cost >= g[m]) {
+                        continue;
+                    }
+                    g[m] = cost;
+                    parents[m] = state;
+                    if (goal.test(m) && (best == NONE || cost < g[best])) {
+                        best = m;
+                    }
+                    if (closed.get(m)) {
+                        incons.set(m);
+                    } else if (open.contains(m)) {
+                        open.decreaseKey(m, key(m, epsilon));
+                    } else {
+                        open.add(m, key(m, epsilon));
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Rebuilds open with the keys of a smaller inflation factor.
+         */
+        private void reorder(double epsilon) {
+            final var states = new int[open.size()];
+            for (var i = 0; i < states.length; i++) {
+                states[i] = open.remove();
+            }
+            for (final var s : states) {
+                open.add(s, key(s, epsilon));
+            }
+        }
+
+        /**
+         * Ratio of the best goal's cost to a lower bound on the optimal cost: the lowest uninflated f in open and
+         * incons. Every state whose g may still drop is in one of them, so the first state on an optimal path whose g
+         * is not yet optimal follows one that is there with its optimal g. This holds between expansions, not just at
+         * the end of an iteration.
+         */
+        private double bound() {
+            if (g[best] == 0.0) {
+                return 1.0;
+            }
+            var lowerBound = g[best];
+            for (var i = 0; i < open.size(); i++) {
+                lowerBound = Math.min(lowerBound, f(open.get(i)));
+            }
+            for (var s = incons.nextSetBit(0); s >= 0; s = incons.nextSetBit(s + 1)) {
+                lowerBound = Math.min(lowerBound, f(s));
+            }
+            return g[best] / lowerBound;
+        }
+
+        private boolean budgetSpent() {
+            return expansions >= maxExpansions || System.nanoTime() >= deadline;
+        }
+
+        private double key(int state, double epsilon) {
+            return g[state] + epsilon * graph.getHeuristicValue(state);
+        }
+
+        private double f(int state) {
+            return g[state] + graph.getHeuristicValue(state);
+        }
+
+        private int[] path(int end) {
+            var length = 0;
+            for (var s = end; s != NONE; s = parents[s]) {
+                length++;
+            }
+            final var path = new int[length];
+            for (var s = end; s != NONE; s = parents[s]) {
+                path[--length] = s;
+            }
+            return path;
+        }
+
+        private SearchResult result(int[] path, double bound) {
+            final var result = new SearchResult("ARASTAR", path != null, expansions, graph, path);
+            if (path != null) {
+                result.setSuboptimalityBound(bound);
+            }
+            return result;
+        }
+    }
+}
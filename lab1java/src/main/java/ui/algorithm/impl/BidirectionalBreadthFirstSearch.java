@@ -0,0 +1,104 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+public class BidirectionalBreadthFirstSearch implements SearchAlgorithm {
+
+    /**
+     * Bidirectional BFS
+     *
+     * <pre>
+     *function bidirectionalBfs(s0, succ, pred, goals)
+     *  forward ← [s0], backward ← goals
+     *  while forward =/= [] and backward =/= [] do
+     *      frontier ← smaller of forward, backward
+     *      expand every state of frontier by one level, insertBack(m, next)
+     *      if some m was already reached from the other side then
+     *          return the meeting state with the fewest steps in total
+     *      frontier ← next
+     *  return fail
+     * </pre>
+     *
+     * Whole levels are expanded at a time, so the first level on which the two searches meet holds a path with the
+     * fewest steps.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        if (goal.test(s0)) {
+            return success(graph, new int[]{s0}, 1);
+        }
+
+        final var reverse = graph.reverse();
+        final var n = graph.size();
+        final var forwardDepth = new int[n];
+        final var backwardDepth = new int[n];
+        final var forwardParents = new int[n];
+        final var backwardParents = new int[n];
+        Arrays.fill(forwardDepth, BidirectionalPaths.NONE);
+        Arrays.fill(backwardDepth, BidirectionalPaths.NONE);
+        Arrays.fill(forwardParents, BidirectionalPaths.NONE);
+        Arrays.fill(backwardParents, BidirectionalPaths.NONE);
+
+        var forward = new int[]{s0};
+        forwardDepth[s0] = 0;
+        var backward = BidirectionalPaths.goalStates(graph, goal);
+        for (final var g : backward) {
+            backwardDepth[g] = 0;
+        }
+        var next = new int[Math.max(16, n)];
+        var statesVisited = 0;
+
+        while (forward.length > 0 && backward.length > 0) {
+            final var isForward = forward.length <= backward.length;
+            final var frontier = isForward ? forward : backward;
+            final var side = isForward ? graph : reverse;
+            final var depth = isForward ? forwardDepth : backwardDepth;
+            final var otherDepth = isForward ? backwardDepth : forwardDepth;
+            final var parents = isForward ? forwardParents : backwardParents;
+
+            var size = 0;
+            var meet = BidirectionalPaths.NONE;
+            var bestSteps = Integer.MAX_VALUE;
+            for (final var u : frontier) {
+                statesVisited++;
+                for (var e = side.edgeStart(u); e < side.edgeEnd(u); e++) {
+                    final var m = side.getTarget(e);
+                    if (depth[m] != BidirectionalPaths.NONE) {
+                        continue;
+                    }
+                    depth[m] = depth[u] + 1;
+                    parents[m] = u;
+                    next[size++] = m;
+                    if (otherDepth[m] != BidirectionalPaths.NONE && depth[m] + otherDepth[m] < bestSteps) {
+                        bestSteps = depth[m] + otherDepth[m];
+                        meet = m;
+                    }
+                }
+            }
+
+            if (meet != BidirectionalPaths.NONE) {
+                return success(graph, BidirectionalPaths.join(forwardParents, backwardParents, meet), statesVisited);
+            }
+            if (isForward) {
+                forward = Arrays.copyOf(next, size);
+            } else {
+                backward = Arrays.copyOf(next, size);
+            }
+        }
+
+        return fail(graph, statesVisited);
+    }
+
+    private SearchResult success(CompactGraph graph, int[] path, int statesVisited) {
+        return new SearchResult("BIBFS", true, statesVisited, graph, path);
+    }
+
+    private SearchResult fail(CompactGraph graph, int statesVisited) {
+        return new SearchResult("BIBFS", false, statesVisited, graph, null);
+    }
+}
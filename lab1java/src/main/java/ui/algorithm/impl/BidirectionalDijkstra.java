@@ -0,0 +1,116 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+import ui.util.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+public class BidirectionalDijkstra implements SearchAlgorithm {
+
+    /**
+     * Bidirectional Dijkstra
+     *
+     * <pre>
+     *function bidirectionalDijkstra(s0, succ, pred, goals)
+     *  forward ← [s0], backward ← goals, μ ← ∞
+     *  while forward =/= [] and backward =/= [] do
+     *      if min g(forward) + min g(backward) ≥ μ then break
+     *      n ← removeHead(smaller of forward, backward)
+     *      for m ∈ expand(n) in that direction do
+     *          insertSortedBy(g, m, open)
+     *          if m was reached from the other side then
+     *              μ ← min(μ, g(m) + g'(m))
+     *  return the path through the state that gave μ
+     * </pre>
+     *
+     * Once the two smallest keys add up to at least μ, no path through an unsettled state can be cheaper, so the
+     * path through the best meeting state is optimal.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        if (goal.test(s0)) {
+            return success(graph, new int[]{s0}, 1);
+        }
+
+        final var reverse = graph.reverse();
+        final var n = graph.size();
+        final var forwardCosts = new double[n];
+        final var backwardCosts = new double[n];
+        final var forwardParents = new int[n];
+        final var backwardParents = new int[n];
+        Arrays.fill(forwardCosts, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardCosts, Double.POSITIVE_INFINITY);
+        Arrays.fill(forwardParents, BidirectionalPaths.NONE);
+        Arrays.fill(backwardParents, BidirectionalPaths.NONE);
+        final var forwardClosed = new BitSet(n);
+        final var backwardClosed = new BitSet(n);
+        final var forward = new IndexedMinHeap(n);
+        final var backward = new IndexedMinHeap(n);
+
+        forwardCosts[s0] = 0.0;
+        forward.add(s0, 0.0);
+        for (final var g : BidirectionalPaths.goalStates(graph, goal)) {
+            backwardCosts[g] = 0.0;
+            backward.add(g, 0.0);
+        }
+
+        var best = Double.POSITIVE_INFINITY;
+        var meet = BidirectionalPaths.NONE;
+        var statesVisited = 0;
+
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            if (forward.getKey(forward.peek()) + backward.getKey(backward.peek()) >= best) {
+                break;
+            }
+
+            final var isForward = forward.size() <= backward.size();
+            final var open = isForward ? forward : backward;
+            final var side = isForward ? graph : reverse;
+            final var costs = isForward ? forwardCosts : backwardCosts;
+            final var otherCosts = isForward ? backwardCosts : forwardCosts;
+            final var parents = isForward ? forwardParents : backwardParents;
+            final var closed = isForward ? forwardClosed : backwardClosed;
+
+            final var u = open.remove();
+            closed.set(u);
+            statesVisited++;
+            for (var e = side.edgeStart(u); e < side.edgeEnd(u); e++) {
+                final var m = side.getTarget(e);
+                if (closed.get(m)) {
+                    continue;
+                }
+                final var cost = costs[u] + side.getCost(e);
+                if (cost < costs[m]) {
+                    costs[m] = cost;
+                    parents[m] = u;
+                    if (open.contains(m)) {
+                        open.decreaseKey(m, cost);
+                    } else {
+                        open.add(m, cost);
+                    }
+                }
+                if (costs[m] + otherCosts[m] < best) {
+                    best = costs[m] + otherCosts[m];
+                    meet = m;
+                }
+            }
+        }
+
+        if (meet == BidirectionalPaths.NONE) {
+            return fail(graph, statesVisited);
+        }
+        return success(graph, BidirectionalPaths.join(forwardParents, backwardParents, meet), statesVisited);
+    }
+
+    private SearchResult success(CompactGraph graph, int[] path, int statesVisited) {
+        return new SearchResult("BIDIJKSTRA", true, statesVisited, graph, path);
+    }
+
+    private SearchResult fail(CompactGraph graph, int statesVisited) {
+        return new SearchResult("BIDIJKSTRA", false, statesVisited, graph, null);
+    }
+}
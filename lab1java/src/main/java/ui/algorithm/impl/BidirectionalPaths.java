@@ -0,0 +1,54 @@
+package ui.algorithm.impl;
+
+import ui.model.CompactGraph;
+
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Helpers shared by the bidirectional searches.
+ */
+final class BidirectionalPaths {
+
+    static final int NONE = -1;
+
+    private BidirectionalPaths() {
+    }
+
+    /**
+     * Returns the states the backward search starts from. The goal is only given as a predicate, so every state is
+     * tested once.
+     */
+    static int[] goalStates(CompactGraph graph, IntPredicate goal) {
+        return IntStream.range(0, graph.size()).filter(goal).toArray();
+    }
+
+    /**
+     * Joins the forward parents from {@code meet} back to the start with the backward parents from {@code meet} on
+     * to a goal into one start-to-goal path.
+     */
+    static int[] join(int[] forwardParents, int[] backwardParents, int meet) {
+        var length = 0;
+        for (var s = meet; s != NONE; s = forwardParents[s]) {
+            length++;
+        }
+        for (var s = backwardParents[meet]; s != NONE; s = backwardParents[s]) {
+            length++;
+        }
+
+        final var path = new int[length];
+        var i = 0;
+        for (var s = meet; s != NONE; s = forwardParents[s]) {
+            path[i++] = s;
+        }
+        for (int left = 0, right = i - 1; left < right; left++, right--) {
+            final var tmp = path[left];
+            path[left] = path[right];
+            path[right] = tmp;
+        }
+        for (var s = backwardParents[meet]; s != NONE; s = backwardParents[s]) {
+            path[i++] = s;
+        }
+        return path;
+    }
+}
@@ -1,15 +1,19 @@
 package ui.algorithm.impl;
 
-import ui.algorithm.SearchAlgorithm;
-import ui.model.Node;
+import ui.algorithm.StateSpaceSearchAlgorithm;
+import ui.metrics.Phase;
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+import ui.model.PackedNodePool;
+import ui.model.SearchNodePool;
 import ui.result.SearchResult;
+import ui.space.StateSpace;
+import ui.util.LongHashSet;
 
-import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
 
-public class BreadthFirstSearch implements SearchAlgorithm {
+public class BreadthFirstSearch implements StateSpaceSearchAlgorithm {
 
     /**
      * BFS algorithm
@@ -28,46 +32,88 @@ public class BreadthFirstSearch implements SearchAlgorithm {
      * </pre>
      */
     @Override
-    public SearchResult find(Node s0, Function<Node, Collection<Node>> succ, Predicate<Node> goal) {
-        final Queue<Node> open = new LinkedList<>();
-        open.add(s0);
-        final var visited = new HashSet<String>();
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        // nodes are appended to the pool in insertion order, so the pool itself is the FIFO open list
+        final var nodes = new SearchNodePool(graph.size());
+        nodes.add(s0, SearchNodePool.NONE, 0.0, 0.0);
+        final var visited = new BitSet(graph.size());
+        final var metrics = new SearchMetrics();
+        metrics.open(1);
+        var statesVisited = 0;
 
-        while (!open.isEmpty()) {
-            var n = open.remove();
-            if (goal.test(n)) {
-                return success(n, visited.size());
+        for (var n = 0; n < nodes.size(); n++) {
+            final var state = nodes.getState(n);
+            if (goal.test(state)) {
+                return success(graph, nodes, n, statesVisited, metrics);
             }
-            visited.add(n.getId());
-            for (var m : expand(n, succ)) {
-                if (!visited.contains(m.getId())) {
-                    open.add(m);
+            if (!visited.get(state)) {
+                visited.set(state);
+                statesVisited++;
+            } else {
+                metrics.duplicate();
+            }
+            for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                final var m = graph.getTarget(e);
+                if (!visited.get(m)) {
+                    nodes.add(m, n, nodes.getG(n) + graph.getCost(e), 0.0);
+                    metrics.generated();
+                } else {
+                    metrics.duplicate();
                 }
             }
+            metrics.open(nodes.size() - n - 1);
         }
 
-        return fail(null, visited.size());
+        return fail(graph, nodes, SearchNodePool.NONE, statesVisited, metrics);
     }
 
     @Override
-    public SearchResult success(Node n, int statesVisited) {
-        return new SearchResult("BFS", true, statesVisited + 1, n);
+    public SearchResult find(StateSpace space) {
+        // states are marked when generated, so each one enters the FIFO pool once
+        final var nodes = new PackedNodePool();
+        final var seen = new LongHashSet(1 << 16);
+        nodes.add(space.getStartState(), PackedNodePool.NONE, 0.0);
+        seen.add(space.getStartState());
+
+        for (var n = 0; n < nodes.size(); n++) {
+            final var state = nodes.getState(n);
+            if (space.isEndState(state)) {
+                return new SearchResult("BFS", true, n + 1, space, nodes, n);
+            }
+            final var parent = n;
+            space.forEachSuccessor(state, (m, cost) -> {
+                if (seen.add(m)) {
+                    nodes.add(m, parent, nodes.getG(parent) + cost);
+                }
+            });
+        }
+
+        return new SearchResult("BFS", false, nodes.size(), space, nodes, PackedNodePool.NONE);
     }
 
-    @Override
-    public SearchResult fail(Node n, int statesVisited) {
-        return new SearchResult("BFS", false, statesVisited, n);
+    private SearchResult success(
+        CompactGraph graph,
+        SearchNodePool nodes,
+        int n,
+        int statesVisited,
+        SearchMetrics metrics
+    ) {
+        final var result = metrics.time(
+            Phase.PATH_RECONSTRUCTION, () -> new SearchResult("BFS", true, statesVisited + 1, graph, nodes, n)
+        );
+        result.setMetrics(metrics);
+        return result;
     }
 
-    @Override
-    public List<Node> expand(Node n, Function<Node, Collection<Node>> succ) {
-        return succ.apply(n).stream()
-            .map(node -> {
-                final var newNode = new Node(node.getId());
-                newNode.setConnectedNodes(node.getConnectedNodes());
-                newNode.setParent(n);
-                return newNode;
-            })
-            .collect(Collectors.toList());
+    private SearchResult fail(
+        CompactGraph graph,
+        SearchNodePool nodes,
+        int n,
+        int statesVisited,
+        SearchMetrics metrics
+    ) {
+        final var result = new SearchResult("BFS", false, statesVisited, graph, nodes, n);
+        result.setMetrics(metrics);
+        return result;
     }
 }
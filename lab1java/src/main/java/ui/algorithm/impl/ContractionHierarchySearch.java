@@ -0,0 +1,223 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.model.ContractionHierarchy;
+import ui.result.SearchResult;
+import ui.util.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+public class ContractionHierarchySearch implements SearchAlgorithm {
+
+    private final Function<CompactGraph, ContractionHierarchy> hierarchies;
+
+    private final ThreadLocal<Workspace> workspaces = new ThreadLocal<>();
+
+    public ContractionHierarchySearch(Function<CompactGraph, ContractionHierarchy> hierarchies) {
+        this.hierarchies = hierarchies;
+    }
+
+    /**
+     * Bidirectional upward search in a contraction hierarchy
+     *
+     * <pre>
+     *function chQuery(s0, goals)
+     *  forward ← [s0], backward ← goals, μ ← ∞
+     *  while forward =/= [] or backward =/= [] do
+     *      side ← the side with the smaller min g
+     *      if min g(side) ≥ μ then clear side, continue
+     *      n ← removeHead(side)
+     *      if n was settled from the other side then
+     *          μ ← min(μ, g(n) + g'(n))
+     *      for m ∈ upward edges of n on that side do
+     *          insertSortedBy(g, m, side)
+     *  return the path through the state that gave μ, with shortcuts unpacked
+     * </pre>
+     *
+     * Both searches only follow edges to states contracted later, and the hierarchy keeps a shortest path of that
+     * shape between any two states, so the best meeting state is on an optimal path. Unlike plain bidirectional
+     * Dijkstra, each side has to run until its own smallest key reaches μ.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        if (goal.test(s0)) {
+            return success(graph, new int[]{s0}, 1);
+        }
+
+        final var hierarchy = hierarchies.apply(graph);
+        final var workspace = workspace(graph.size());
+        try {
+            return search(graph, hierarchy, workspace, s0, BidirectionalPaths.goalStates(graph, goal));
+        } finally {
+            workspace.reset();
+        }
+    }
+
+    private SearchResult search(
+        CompactGraph graph,
+        ContractionHierarchy hierarchy,
+        Workspace workspace,
+        int s0,
+        int[] goals
+    ) {
+        final var forward = workspace.forward;
+        final var backward = workspace.backward;
+        workspace.reach(s0, true, 0.0, BidirectionalPaths.NONE);
+        for (final var g : goals) {
+            workspace.reach(g, false, 0.0, BidirectionalPaths.NONE);
+        }
+
+        var best = Double.POSITIVE_INFINITY;
+        var meet = BidirectionalPaths.NONE;
+        var statesVisited = 0;
+
+        while (!forward.isEmpty() || !backward.isEmpty()) {
+            final var isForward = backward.isEmpty()
+                || !forward.isEmpty() && forward.getKey(forward.peek()) <= backward.getKey(backward.peek());
+            final var open = isForward ? forward : backward;
+            if (open.getKey(open.peek()) >= best) {
+                open.clear();
+                continue;
+            }
+
+            final var u = open.remove();
+            statesVisited++;
+            final var costs = isForward ? workspace.forwardCosts : workspace.backwardCosts;
+            final var otherCosts = isForward ? workspace.backwardCosts : workspace.forwardCosts;
+            if (costs[u] + otherCosts[u] < best) {
+                best = costs[u] + otherCosts[u];
+                meet = u;
+            }
+
+            final var start = isForward ? hierarchy.forwardStart(u) : hierarchy.backwardStart(u);
+            final var end = isForward ? hierarchy.forwardEnd(u) : hierarchy.backwardEnd(u);
+            for (var i = start; i < end; i++) {
+                final var e = isForward ? hierarchy.getForwardEdge(i) : hierarchy.getBackwardEdge(i);
+                final var m = isForward ? hierarchy.getTarget(e) : hierarchy.getSource(e);
+                final var cost = costs[u] + hierarchy.getCost(e);
+                if (cost < costs[m]) {
+                    workspace.reach(m, isForward, cost, e);
+                }
+            }
+        }
+
+        if (meet == BidirectionalPaths.NONE) {
+            return fail(graph, statesVisited);
+        }
+        return success(graph, unpack(hierarchy, workspace, s0, meet), statesVisited);
+    }
+
+    /**
+     * Walks the forward parent edges back from {@code meet} to the start and the backward ones on to a goal, and
+     * expands every edge on the way into edges of the original graph.
+     */
+    private static int[] unpack(ContractionHierarchy hierarchy, Workspace workspace, int s0, int meet) {
+        var upward = new int[16];
+        var size = 0;
+        for (var e = workspace.forwardParents[meet]; e != BidirectionalPaths.NONE;
+             e = workspace.forwardParents[hierarchy.getSource(e)]) {
+            if (size == upward.length) {
+                upward = Arrays.copyOf(upward, size * 2);
+            }
+            upward[size++] = e;
+        }
+
+        final var path = IntStream.builder().add(s0);
+        for (var i = size - 1; i >= 0; i--) {
+            hierarchy.unpack(upward[i], path);
+        }
+        for (var e = workspace.backwardParents[meet]; e != BidirectionalPaths.NONE;
+             e = workspace.backwardParents[hierarchy.getTarget(e)]) {
+            hierarchy.unpack(e, path);
+        }
+        return path.build().toArray();
+    }
+
+    private Workspace workspace(int size) {
+        var workspace = workspaces.get();
+        if (workspace == null || workspace.forwardCosts.length != size) {
+            workspace = new Workspace(size);
+            workspaces.set(workspace);
+        }
+        return workspace;
+    }
+
+    private SearchResult success(CompactGraph graph, int[] path, int statesVisited) {
+        return new SearchResult("CH", true, statesVisited, graph, path);
+    }
+
+    private SearchResult fail(CompactGraph graph, int statesVisited) {
+        return new SearchResult("CH", false, statesVisited, graph, null);
+    }
+
+    /**
+     * Per-thread search arrays, kept between queries since a query usually touches only a small part of the graph.
+     * Touched states are recorded so that resetting costs as much as the search did.
+     */
+    private static final class Workspace {
+
+        private final double[] forwardCosts;
+
+        private final double[] backwardCosts;
+
+        private final int[] forwardParents;
+
+        private final int[] backwardParents;
+
+        private final IndexedMinHeap forward;
+
+        private final IndexedMinHeap backward;
+
+        private int[] touched = new int[16];
+
+        private int touchedSize;
+
+        private Workspace(int size) {
+            this.forwardCosts = new double[size];
+            this.backwardCosts = new double[size];
+            this.forwardParents = new int[size];
+            this.backwardParents = new int[size];
+            this.forward = new IndexedMinHeap(size);
+            this.backward = new IndexedMinHeap(size);
+            Arrays.fill(forwardCosts, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardCosts, Double.POSITIVE_INFINITY);
+            Arrays.fill(forwardParents, BidirectionalPaths.NONE);
+            Arrays.fill(backwardParents, BidirectionalPaths.NONE);
+        }
+
+        private void reach(int state, boolean isForward, double cost, int edge) {
+            final var costs = isForward ? forwardCosts : backwardCosts;
+            final var open = isForward ? forward : backward;
+            if (costs[state] == Double.POSITIVE_INFINITY) {
+                if (touchedSize == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedSize * 2);
+                }
+                touched[touchedSize++] = state;
+            }
+            costs[state] = cost;
+            (isForward ? forwardParents : backwardParents)[state] = edge;
+            if (open.contains(state)) {
+                open.decreaseKey(state, cost);
+            } else {
+                open.add(state, cost);
+            }
+        }
+
+        private void reset() {
+            forward.clear();
+            backward.clear();
+            for (var i = 0; i < touchedSize; i++) {
+                final var state = touched[i];
+                forwardCosts[state] = Double.POSITIVE_INFINITY;
+                backwardCosts[state] = Double.POSITIVE_INFINITY;
+                forwardParents[state] = BidirectionalPaths.NONE;
+                backwardParents[state] = BidirectionalPaths.NONE;
+            }
+            touchedSize = 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.IncrementalSearch;
+import ui.algorithm.IncrementalSearchAlgorithm;
+import ui.model.CompactGraph;
+
+import java.util.function.IntPredicate;
+
+public class DStarLite implements IncrementalSearchAlgorithm {
+
+    /**
+     * D* Lite algorithm
+     *
+     * <pre>
+     *function dStarLiteSearch(s0, pred, goals)
+     *  g(s) ← ∞, rhs(s) ← ∞ for all s, rhs(t) ← 0 for t ∈ goals
+     *  open ← goals
+     *  loop
+     *      while key(head(open)) < key(s0) or rhs(s0) =/= g(s0) do
+     *          n ← removeHead(open)
+     *          if g(n) > rhs(n) then g(n) ← rhs(n)
+     *          else g(n) ← ∞, update(n)
+     *          for m ∈ pred(n) do update(m)
+     *      publish the path from s0 over successors with the smallest c + g
+     *      wait for changed edges (u, v), then update(u)
+     *where rhs(m) = min { c + g(n) | (n, c) ∈ succ(m) },
+     *      update(m) puts m into open if g(m) =/= rhs(m) and removes it otherwise,
+     *      key(n) = [min(g(n), rhs(n)), min(g(n), rhs(n))], compared lexicographically
+     * </pre>
+     *
+     * LPA* run backwards, from the goals to the start, so g is the cost to reach a goal and stays valid for any start
+     * state. The heuristic values of the graph estimate the cost to the goals rather than from the start, so the
+     * search runs without one, which also leaves out the key offset D* Lite keeps for a moving start.
+     */
+    @Override
+    public IncrementalSearch plan(CompactGraph graph, int s0, IntPredicate goal) {
+        return new LifelongPlanningSearch(
+            "DSTARLITE", graph, false, BidirectionalPaths.goalStates(graph, goal), new int[]{s0}, state -> 0.0
+        );
+    }
+}
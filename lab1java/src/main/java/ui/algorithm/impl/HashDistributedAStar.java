@@ -0,0 +1,247 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+import ui.util.MinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+public class HashDistributedAStar implements SearchAlgorithm {
+
+    private static final int NONE = -1;
+
+    private static final int SPINS = 100;
+
+    private static final long PARK_NANOS = 10_000;
+
+    private final IntSupplier threads;
+
+    public HashDistributedAStar(IntSupplier threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Hash distributed A* (HDA*)
+     *
+     * <pre>
+     *function hdaStarSearch(s0, succ, goal, h, workers)
+     *  every state belongs to the worker owner(s), which alone keeps open and g for it
+     *  send (s0, 0) to owner(s0)
+     *  in every worker until no worker is busy and no message is in flight:
+     *      for (m, g) ∈ received do
+     *          if g < g(m) then g(m) ← g, insertSortedBy(f, m, open)
+     *      n ← removeHead(open)
+     *      if f(n) ≥ cost(incumbent) then clear open, wait for messages
+     *      if goal(state(n)) then incumbent ← min(incumbent, n), continue
+     *      for m ∈ expand(n) do send (m, g(m)) to owner(m)
+     *  return incumbent
+     * </pre>
+     *
+     * Workers exchange states over lock-free queues. A worker is busy while it has open states below the incumbent
+     * or is handling a message, and a message counts as busy until it is handled, so the count of both reaching
+     * zero means every state with f below the incumbent was expanded. With an admissible heuristic the incumbent is
+     * then optimal.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        return new Search(graph, goal, Math.max(1, threads.getAsInt())).run(s0);
+    }
+
+    /**
+     * State of one search. {@code costs} and {@code parents} are indexed by state id and only written by the owner of
+     * the state, so they need no synchronization until the workers have finished.
+     */
+    private static final class Search {
+
+        private final CompactGraph graph;
+
+        private final IntPredicate goal;
+
+        private final int workers;
+
+        private final double[] costs;
+
+        private final int[] parents;
+
+        private final ArrayList<ConcurrentLinkedQueue<Message>> inboxes = new ArrayList<>();
+
+        // busy workers plus messages not yet handled
+        private final AtomicInteger busy = new AtomicInteger();
+
+        private final AtomicInteger statesVisited = new AtomicInteger();
+
+        private volatile double incumbentCost = Double.POSITIVE_INFINITY;
+
+        private int incumbent = NONE;
+
+        private Search(CompactGraph graph, IntPredicate goal, int workers) {
+            this.graph = graph;
+            this.goal = goal;
+            this.workers = workers;
+            this.costs = new double[graph.size()];
+            this.parents = new int[graph.size()];
+            Arrays.fill(costs, Double.POSITIVE_INFINITY);
+            Arrays.fill(parents, NONE);
+            for (var i = 0; i < workers; i++) {
+                inboxes.add(new ConcurrentLinkedQueue<>());
+            }
+        }
+
+        private SearchResult run(int s0) {
+            busy.set(workers + 1);
+            inboxes.get(owner(s0)).add(new Message(s0, NONE, 0.0));
+
+            final var executor = Executors.newFixedThreadPool(workers);
+            try {
+                final var tasks = new ArrayList<Callable<Void>>();
+                for (var i = 0; i < workers; i++) {
+                    final var worker = i;
+                    tasks.add(() -> {
+                        work(worker);
+                        return null;
+                    });
+                }
+                for (final var future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            if (incumbent == NONE) {
+                return new SearchResult("HDASTAR", false, statesVisited.get(), graph, null);
+            }
+            var length = 0;
+            for (var s = incumbent; s != NONE; s = parents[s]) {
+                length++;
+            }
+            final var path = new int[length];
+            for (var s = incumbent; s != NONE; s = parents[s]) {
+                path[--length] = s;
+            }
+            return new SearchResult("HDASTAR", true, statesVisited.get() + 1, graph, path);
+        }
+
+        private void work(int worker) {
+            final var inbox = inboxes.get(worker);
+            final var open = new MinHeap();
+            var active = true;
+            var idleRounds = 0;
+
+            while (true) {
+                Message message;
+                while ((message = inbox.poll()) != null) {
+                    if (!active) {
+                        busy.incrementAndGet();
+                        active = true;
+                    }
+                    relax(open, message.state, message.parent, message.g);
+                    busy.decrementAndGet();
+                }
+
+                if (!open.isEmpty() && open.peekKey() < incumbentCost) {
+                    expand(worker, open);
+                    idleRounds = 0;
+                    continue;
+                }
+                while (!open.isEmpty()) {
+                    open.remove();
+                }
+
+                if (active) {
+                    active = false;
+                    busy.decrementAndGet();
+                }
+                if (busy.get() == 0) {
+                    return;
+                }
+                // spin briefly for new messages, then back off so idle workers do not starve busy ones
+                if (++idleRounds < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        private void expand(int worker, MinHeap open) {
+            final var key = open.peekKey();
+            final var state = open.remove();
+            final var g = costs[state];
+            if (key > g + graph.getHeuristicValue(state)) {
+                // a cheaper entry for this state was added later
+                return;
+            }
+            if (goal.test(state)) {
+                updateIncumbent(state, g);
+                return;
+            }
+
+            statesVisited.incrementAndGet();
+            for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                final var m = graph.getTarget(e);
+                final var mg = g + graph.getCost(e);
+                if (mg + graph.getHeuristicValue(m) >= incumbentCost) {
+                    continue;
+                }
+                final var owner = owner(m);
+                if (owner == worker) {
+                    relax(open, m, state, mg);
+                } else {
+                    busy.incrementAndGet();
+                    inboxes.get(owner).add(new Message(m, state, mg));
+                }
+            }
+        }
+
+        private void relax(MinHeap open, int state, int parent, double g) {
+            if (g < costs[state]) {
+                costs[state] = g;
+                parents[state] = parent;
+                open.add(state, g + graph.getHeuristicValue(state));
+            }
+        }
+
+        private synchronized void updateIncumbent(int state, double g) {
+            if (g < incumbentCost) {
+                incumbent = state;
+                incumbentCost = g;
+            }
+        }
+
+        private int owner(int state) {
+            final var hash = state * 0x9E3779B9;
+            return Math.floorMod(hash ^ (hash >>> 16), workers);
+        }
+    }
+
+    private static final class Message {
+
+        private final int state;
+
+        private final int parent;
+
+        private final double g;
+
+        private Message(int state, int parent, double g) {
+            this.state = state;
+            this.parent = parent;
+            this.g = g;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.StateSpaceSearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.model.PackedNodePool;
+import ui.result.SearchResult;
+import ui.space.StateSpace;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+public class IterativeDeepeningAStar implements StateSpaceSearchAlgorithm {
+
+    /**
+     * IDA* algorithm
+     *
+     * <pre>
+     *function idaStarSearch(s0, succ, goal, h)
+     *  if no goal state is reachable from s0 then return fail
+     *  bound ← h(s0)
+     *  loop
+     *      next ← ∞
+     *      depth-first from s0, never revisiting a state on the current path:
+     *          if f(n) > bound then next ← min(next, f(n)), backtrack
+     *          if goal(state(n)) then return n
+     *      if next = ∞ then return fail
+     *      bound ← next
+     *where f(n) = g(n) + h(state(n))
+     * </pre>
+     *
+     * Only the current path is kept, so memory grows with the solution depth instead of the number of states
+     * visited. Nothing but the path is remembered either, so on a graph with many cycles one iteration can walk every
+     * simple path within the bound, which is exponential in the number of states in the worst case. Without a
+     * reachable goal the bound would grow until every simple path from {@code s0} was tried, so that case is ruled
+     * out first by one breadth-first pass.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        if (!graph.canReach(s0, goal)) {
+            return fail(graph, 0, 0);
+        }
+
+        var states = new int[64];
+        var edges = new int[64];
+        var costs = new double[64];
+        final var onPath = new BitSet(graph.size());
+        var bound = graph.getHeuristicValue(s0);
+        var statesVisited = 0;
+        var peakMemory = 1;
+
+        while (true) {
+            var next = Double.POSITIVE_INFINITY;
+            var depth = 0;
+            states[0] = s0;
+            edges[0] = graph.edgeStart(s0);
+            costs[0] = 0.0;
+            onPath.set(s0);
+            if (goal.test(s0)) {
+                return success(graph, Arrays.copyOf(states, 1), statesVisited, peakMemory);
+            }
+            statesVisited++;
+
+            while (depth >= 0) {
+                final var state = states[depth];
+                if (edges[depth] == graph.edgeEnd(state)) {
+                    onPath.clear(state);
+                    depth--;
+                    continue;
+                }
+
+                final var e = edges[depth]++;
+                final var m = graph.getTarget(e);
+                if (onPath.get(m)) {
+                    continue;
+                }
+                final var g = costs[depth] + graph.getCost(e);
+                final var f = g + graph.getHeuristicValue(m);
+                if (f > bound) {
+                    next = Math.min(next, f);
+                    continue;
+                }
+
+                if (++depth == states.length) {
+                    states = Arrays.copyOf(states, depth * 2);
+                    edges = Arrays.copyOf(edges, depth * 2);
+                    costs = Arrays.copyOf(costs, depth * 2);
+                }
+                states[depth] = m;
+                edges[depth] = graph.edgeStart(m);
+                costs[depth] = g;
+                peakMemory = Math.max(peakMemory, depth + 1);
+                if (goal.test(m)) {
+                    return success(graph, Arrays.copyOf(states, depth + 1), statesVisited, peakMemory);
+                }
+                onPath.set(m);
+                statesVisited++;
+            }
+
+            if (next == Double.POSITIVE_INFINITY) {
+                return fail(graph, statesVisited, peakMemory);
+            }
+            bound = next;
+        }
+    }
+
+    /**
+     * IDA* over a generated space, the same depth-first search as on a {@link CompactGraph}. The successors of every
+     * state on the path are generated when it is entered and kept on one stack until it is left, and the path itself
+     * is the only record of visited states, so memory still grows only with the depth. Reachability of a goal is not
+     * checked first, since a generated space can be far too large to enumerate, so without a reachable goal the search
+     * only ends once it has tried every simple path from the start.
+     */
+    @Override
+    public SearchResult find(StateSpace space) {
+        var states = new long[64];
+        var costs = new double[64];
+        // the successors of the state at each depth are [starts, ends) on the stack, the ones from next on untried
+        var starts = new int[64];
+        var ends = new int[64];
+        var next = new int[64];
+        final var successors = new SuccessorStack();
+        final var s0 = space.getStartState();
+        var bound = space.getHeuristicValue(s0);
+        var statesVisited = 0;
+        var peakMemory = 1;
+
+        while (true) {
+            var nextBound = Double.POSITIVE_INFINITY;
+            var depth = 0;
+            states[0] = s0;
+            costs[0] = 0.0;
+            if (space.isEndState(s0)) {
+                return success(space, states, costs, 0, statesVisited, peakMemory);
+            }
+            statesVisited++;
+            successors.clear();
+            starts[0] = 0;
+            space.forEachSuccessor(s0, successors::push);
+            ends[0] = successors.size();
+            next[0] = 0;
+
+            while (depth >= 0) {
+                if (next[depth] == ends[depth]) {
+                    successors.truncate(starts[depth]);
+                    depth--;
+                    continue;
+                }
+
+                final var i = next[depth]++;
+                final var m = successors.getState(i);
+                if (isOnPath(states, depth, m)) {
+                    continue;
+                }
+                final var g = costs[depth] + successors.getCost(i);
+                final var f = g + space.getHeuristicValue(m);
+                if (f > bound) {
+                    nextBound = Math.min(nextBound, f);
+                    continue;
+                }
+
+                if (++depth == states.length) {
+                    states = Arrays.copyOf(states, depth * 2);
+                    costs = Arrays.copyOf(costs, depth * 2);
+                    starts = Arrays.copyOf(starts, depth * 2);
+                    ends = Arrays.copyOf(ends, depth * 2);
+                    next = Arrays.copyOf(next, depth * 2);
+                }
+                states[depth] = m;
+                costs[depth] = g;
+                peakMemory = Math.max(peakMemory, depth + 1);
+                if (space.isEndState(m)) {
+                    return success(space, states, costs, depth, statesVisited, peakMemory);
+                }
+                statesVisited++;
+                starts[depth] = successors.size();
+                space.forEachSuccessor(m, successors::push);
+                ends[depth] = successors.size();
+                next[depth] = starts[depth];
+            }
+
+            if (nextBound == Double.POSITIVE_INFINITY) {
+                final var result = new SearchResult("IDASTAR", false, statesVisited, space, null, PackedNodePool.NONE);
+                result.setPeakMemory(peakMemory);
+                return result;
+            }
+            bound = nextBound;
+        }
+    }
+
+    private static boolean isOnPath(long[] states, int depth, long state) {
+        for (var i = 0; i <= depth; i++) {
+            if (states[i] == state) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SearchResult success(
+        StateSpace space,
+        long[] states,
+        double[] costs,
+        int depth,
+        int statesVisited,
+        int peakMemory
+    ) {
+        final var nodes = new PackedNodePool();
+        for (var i = 0; i <= depth; i++) {
+            nodes.add(states[i], i - 1, costs[i]);
+        }
+        final var result = new SearchResult("IDASTAR", true, statesVisited + 1, space, nodes, depth);
+        result.setPeakMemory(peakMemory);
+        return result;
+    }
+
+    private SearchResult success(CompactGraph graph, int[] path, int statesVisited, int peakMemory) {
+        final var result = new SearchResult("IDASTAR", true, statesVisited + 1, graph, path);
+        result.setPeakMemory(peakMemory);
+        return result;
+    }
+
+    private SearchResult fail(CompactGraph graph, int statesVisited, int peakMemory) {
+        final var result = new SearchResult("IDASTAR", false, statesVisited, graph, null);
+        result.setPeakMemory(peakMemory);
+        return result;
+    }
+
+    /**
+     * Successors of the states on the current path, pushed when a state is entered and dropped when it is left.
+     */
+    private static final class SuccessorStack {
+
+        private long[] states = new long[256];
+
+        private double[] costs = new double[256];
+
+        private int size;
+
+        void push(long state, double cost) {
+            if (size == states.length) {
+                states = Arrays.copyOf(states, size * 2);
+                costs = Arrays.copyOf(costs, size * 2);
+            }
+            states[size] = state;
+            costs[size] = cost;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long getState(int i) {
+            return states[i];
+        }
+
+        double getCost(int i) {
+            return costs[i];
+        }
+
+        void truncate(int size) {
+            this.size = size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.heuristic.Landmarks;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * A* guided by the ALT heuristic of precomputed {@link Landmarks} instead of the loaded heuristic values, so it works
+ * for any start state and set of goals. Landmarks need a loaded graph, so unlike {@link AStar} it does not search
+ * generated spaces.
+ */
+public class LandmarkAStar implements SearchAlgorithm {
+
+    private final AStar aStar = new AStar("ALT");
+
+    private final Function<CompactGraph, Landmarks> landmarks;
+
+    public LandmarkAStar(Function<CompactGraph, Landmarks> landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        final var goals = BidirectionalPaths.goalStates(graph, goal);
+        return aStar.find(graph, s0, goal, landmarks.apply(graph).heuristic(goals));
+    }
+}
@@ -0,0 +1,41 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.IncrementalSearch;
+import ui.algorithm.IncrementalSearchAlgorithm;
+import ui.model.CompactGraph;
+
+import java.util.function.IntPredicate;
+
+public class LifelongPlanningAStar implements IncrementalSearchAlgorithm {
+
+    /**
+     * LPA* algorithm
+     *
+     * <pre>
+     *function lpaStarSearch(s0, succ, goal, h)
+     *  g(s) ← ∞, rhs(s) ← ∞ for all s, rhs(s0) ← 0
+     *  open ← [s0]
+     *  loop
+     *      while key(head(open)) < key(goal) or rhs(goal) =/= g(goal) do
+     *          n ← removeHead(open)
+     *          if g(n) > rhs(n) then g(n) ← rhs(n)
+     *          else g(n) ← ∞, update(n)
+     *          for m ∈ succ(n) do update(m)
+     *      publish the path from goal back over predecessors with the smallest g + c
+     *      wait for changed edges (u, v), then update(v)
+     *where rhs(m) = min { g(n) + c | (m, c) ∈ succ(n) },
+     *      update(m) puts m into open if g(m) =/= rhs(m) and removes it otherwise,
+     *      key(n) = [min(g(n), rhs(n)) + h(n), min(g(n), rhs(n))], compared lexicographically
+     * </pre>
+     *
+     * The first search behaves like A*. After edge costs change only the states whose g and rhs disagree are put
+     * back into open, so a replan expands the part of the graph the changes reach and keeps the g values of the rest.
+     * The goal predicate is tested once for every state, and all the goals share one virtual goal state.
+     */
+    @Override
+    public IncrementalSearch plan(CompactGraph graph, int s0, IntPredicate goal) {
+        return new LifelongPlanningSearch(
+            "LPASTAR", graph, true, new int[]{s0}, BidirectionalPaths.goalStates(graph, goal), graph::getHeuristicValue
+        );
+    }
+}
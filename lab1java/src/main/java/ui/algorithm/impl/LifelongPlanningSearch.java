@@ -0,0 +1,297 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.IncrementalSearch;
+import ui.metrics.Phase;
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+import ui.model.GraphEdit;
+import ui.result.SearchResult;
+import ui.util.IndexedPairMinHeap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * LPA* over a {@link CompactGraph} in either direction, shared by {@link LifelongPlanningAStar} and
+ * {@link DStarLite}.
+ *
+ * <p>The search runs from a set of sources, whose rhs stays 0, towards a set of targets. The targets are joined by a
+ * virtual state with id {@code graph.size()} and a free edge from each of them, so the search stops at the cheapest
+ * target like it would at a single goal. A backward search follows the reversed graph, so the source and target
+ * sides swap but paths still come out from the start to a goal.
+ *
+ * <p>Edits change the graph right away and fix the rhs of the one state whose incoming edge changed, as in the
+ * optimized versions of both algorithms. The next {@link #search()} then expands only the states left inconsistent.
+ */
+final class LifelongPlanningSearch implements IncrementalSearch {
+
+    private static final int NONE = -1;
+
+    // relative slack for comparing keys, which are sums of decimal costs and may differ in the last bits
+    private static final double EPSILON = 1e-9;
+
+    private final String name;
+
+    private final CompactGraph graph;
+
+    private final boolean forward;
+
+    // successors and predecessors in the direction of the search
+    private final CompactGraph successors;
+
+    private final CompactGraph predecessors;
+
+    private final BitSet sources;
+
+    private final BitSet targets;
+
+    private final int[] targetStates;
+
+    private final int target;
+
+    private final IntToDoubleFunction heuristic;
+
+    private final double[] g;
+
+    private final double[] rhs;
+
+    private final IndexedPairMinHeap open;
+
+    private SearchMetrics metrics = new SearchMetrics();
+
+    LifelongPlanningSearch(
+        String name,
+        CompactGraph graph,
+        boolean forward,
+        int[] sourceStates,
+        int[] targetStates,
+        IntToDoubleFunction heuristic
+    ) {
+        this.name = name;
+        this.graph = graph;
+        this.forward = forward;
+        this.successors = forward ? graph : graph.reverse();
+        this.predecessors = forward ? graph.reverse() : graph;
+        this.sources = new BitSet(graph.size());
+        this.targets = new BitSet(graph.size());
+        this.targetStates = targetStates;
+        this.target = graph.size();
+        this.heuristic = heuristic;
+        this.g = new double[graph.size() + 1];
+        this.rhs = new double[graph.size() + 1];
+        this.open = new IndexedPairMinHeap(graph.size() + 1);
+        Arrays.fill(g, Double.POSITIVE_INFINITY);
+        Arrays.fill(rhs, Double.POSITIVE_INFINITY);
+        for (final var state : targetStates) {
+            targets.set(state);
+        }
+        for (final var state : sourceStates) {
+            sources.set(state);
+            rhs[state] = 0.0;
+            updateOpen(state);
+        }
+    }
+
+    @Override
+    public void apply(GraphEdit edit) {
+        if (edit.isHeuristic()) {
+            graph.setHeuristicValue(edit.getFrom(), edit.getValue());
+            updateOpen(edit.getFrom());
+            return;
+        }
+
+        final var oldCost = graph.getCost(edit.getFrom(), edit.getTo());
+        final var cost = edit.getValue();
+        graph.setCost(edit.getFrom(), edit.getTo(), cost);
+        final var from = forward ? edit.getFrom() : edit.getTo();
+        final var to = forward ? edit.getTo() : edit.getFrom();
+        if (sources.get(to)) {
+            return;
+        }
+        if (cost < oldCost) {
+            rhs[to] = Math.min(rhs[to], g[from] + cost);
+        } else if (rhs[to] == g[from] + oldCost) {
+            rhs[to] = lookahead(to);
+        }
+        updateOpen(to);
+    }
+
+    @Override
+    public SearchResult search() {
+        final var metrics = this.metrics;
+        this.metrics = new SearchMetrics();
+        final var statesVisited = computeShortestPath(metrics);
+
+        final SearchResult result;
+        if (g[target] == Double.POSITIVE_INFINITY) {
+            result = new SearchResult(name, false, statesVisited, graph, null);
+        } else {
+            result = metrics.time(
+                Phase.PATH_RECONSTRUCTION, () -> new SearchResult(name, true, statesVisited, graph, path())
+            );
+        }
+        result.setMetrics(metrics);
+        return result;
+    }
+
+    /**
+     * Expands states in key order until the virtual target is consistent and every key in open is above its own, and
+     * returns the number of expansions. Unlike with a single goal, open may still hold a goal with the same key as
+     * the virtual target, whose g then has to be settled too.
+     */
+    private int computeShortestPath(SearchMetrics metrics) {
+        var statesVisited = 0;
+        while (!open.isEmpty() && (!isAfterTarget(open.peek()) || g[target] != rhs[target])) {
+            final var state = open.remove();
+            if (state == target) {
+                g[target] = rhs[target];
+                continue;
+            }
+            statesVisited++;
+
+            if (g[state] > rhs[state]) {
+                g[state] = rhs[state];
+                for (var e = successors.edgeStart(state); e < successors.edgeEnd(state); e++) {
+                    final var m = successors.getTarget(e);
+                    final var cost = g[state] + successors.getCost(e);
+                    if (!sources.get(m) && cost < rhs[m]) {
+                        rhs[m] = cost;
+                        updateOpen(m, metrics);
+                    }
+                }
+                if (targets.get(state) && g[state] < rhs[target]) {
+                    rhs[target] = g[state];
+                    updateOpen(target, metrics);
+                }
+            } else {
+                final var oldG = g[state];
+                g[state] = Double.POSITIVE_INFINITY;
+                for (var e = successors.edgeStart(state); e < successors.edgeEnd(state); e++) {
+                    final var m = successors.getTarget(e);
+                    if (!sources.get(m) && rhs[m] == oldG + successors.getCost(e)) {
+                        rhs[m] = lookahead(m);
+                        updateOpen(m, metrics);
+                    }
+                }
+                if (targets.get(state) && rhs[target] == oldG) {
+                    rhs[target] = lookahead(target);
+                    updateOpen(target, metrics);
+                }
+                updateOpen(state, metrics);
+            }
+        }
+        return statesVisited;
+    }
+
+    /**
+     * Returns the best g of a predecessor plus the cost of its edge to {@code state}, the rhs of a state that is not
+     * a source.
+     */
+    private double lookahead(int state) {
+        var best = Double.POSITIVE_INFINITY;
+        if (state == target) {
+            for (final var s : targetStates) {
+                best = Math.min(best, g[s]);
+            }
+            return best;
+        }
+        for (var e = predecessors.edgeStart(state); e < predecessors.edgeEnd(state); e++) {
+            best = Math.min(best, g[predecessors.getTarget(e)] + predecessors.getCost(e));
+        }
+        return best;
+    }
+
+    private void updateOpen(int state) {
+        updateOpen(state, metrics);
+    }
+
+    /**
+     * Puts an inconsistent state into open under its current key and takes a consistent one out.
+     */
+    private void updateOpen(int state, SearchMetrics metrics) {
+        if (g[state] == rhs[state]) {
+            if (open.contains(state)) {
+                open.remove(state);
+            }
+            return;
+        }
+        final var secondKey = Math.min(g[state], rhs[state]);
+        final var firstKey = state == target ? secondKey : secondKey + heuristic.applyAsDouble(state);
+        if (open.contains(state)) {
+            open.update(state, firstKey, secondKey);
+        } else {
+            open.add(state, firstKey, secondKey);
+            metrics.open(open.size());
+        }
+        metrics.generated();
+    }
+
+    /**
+     * Returns whether the key of {@code state} is above the key of the virtual target, counting keys within rounding
+     * of each other as equal. Otherwise a state whose key should tie with the target's, like an edge that got more
+     * expensive at the start of the best path, could end up just above it and never be expanded.
+     */
+    private boolean isAfterTarget(int state) {
+        final var targetKey = Math.min(g[target], rhs[target]);
+        if (targetKey == Double.POSITIVE_INFINITY) {
+            return false;
+        }
+        final var slack = EPSILON * Math.max(1.0, Math.abs(targetKey));
+        final var firstKey = open.getFirstKey(state);
+        if (firstKey > targetKey + slack) {
+            return true;
+        }
+        return firstKey >= targetKey - slack && open.getSecondKey(state) > targetKey + slack;
+    }
+
+    /**
+     * Walks from the cheapest target back to a source, each time to the predecessor with the smallest g plus edge
+     * cost, and returns the states from the start to the goal. A dead end or a cycle on the way means the g values are
+     * wrong, so it fails instead of returning a path that does not start at a source.
+     */
+    private int[] path() {
+        var state = targetStates[0];
+        for (final var s : targetStates) {
+            if (g[s] < g[state]) {
+                state = s;
+            }
+        }
+
+        final var states = IntStream.builder().add(state);
+        final var visited = new BitSet(graph.size());
+        visited.set(state);
+        while (!sources.get(state)) {
+            var best = Double.POSITIVE_INFINITY;
+            var next = NONE;
+            for (var e = predecessors.edgeStart(state); e < predecessors.edgeEnd(state); e++) {
+                final var m = predecessors.getTarget(e);
+                final var cost = g[m] + predecessors.getCost(e);
+                if (cost < best) {
+                    best = cost;
+                    next = m;
+                }
+            }
+            if (next == NONE) {
+                throw new IllegalStateException(name + " path reaches " + graph.getName(state) + " with no predecessor");
+            }
+            if (visited.get(next)) {
+                throw new IllegalStateException(name + " path runs in a cycle through " + graph.getName(next));
+            }
+            visited.set(next);
+            state = next;
+            states.add(state);
+        }
+
+        final var path = states.build().toArray();
+        if (forward) {
+            for (int left = 0, right = path.length - 1; left < right; left++, right--) {
+                final var tmp = path[left];
+                path[left] = path[right];
+                path[right] = tmp;
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,240 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+import ui.util.AtomicBitSet;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+public class ParallelBreadthFirstSearch implements SearchAlgorithm {
+
+    private static final int NONE = -1;
+
+    // go bottom-up once expanding the frontier would scan more edges than the predecessors of all unvisited states
+    private static final int BOTTOM_UP_FACTOR = 1;
+
+    private static final int CHUNK = 1 << 10;
+
+    private final IntSupplier threads;
+
+    public ParallelBreadthFirstSearch(IntSupplier threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Level-synchronous parallel BFS
+     *
+     * <pre>
+     *function parallelBfs(s0, succ, goal)
+     *  frontier ← [s0]
+     *  while frontier =/= [] do
+     *      if ∃n ∈ frontier such that goal(n) then return the first one
+     *      in parallel, top-down over frontier or bottom-up over unvisited states:
+     *          parent(m) ← first n ∈ frontier with m ∈ succ(n), for every unvisited m
+     *      frontier ← new states ordered by (position of parent in frontier, m)
+     *  return fail
+     * </pre>
+     *
+     * Every state gets the parent that comes first in the frontier and the next frontier keeps the order in which
+     * the sequential BFS first reaches the states, so the path and {@code [STATES_VISITED]} are the ones it reports.
+     * Top-down steps expand the frontier and bottom-up steps scan the predecessors of unvisited states, whichever
+     * touches fewer edges. States reached on a level are marked in an atomic bitset once the level is complete.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        final var pool = new ForkJoinPool(Math.max(1, threads.getAsInt()));
+        try {
+            return pool.submit(() -> new Search(graph, goal).run(s0)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * State of one search, run inside the fork-join pool so that parallel streams use its workers.
+     *
+     * <p>While a level is expanded, {@code parents} holds for every state reached on it the smallest frontier
+     * position of a predecessor, lowered concurrently with compare-and-exchange. States only join {@code visited}
+     * after the level is complete, so during the expansion it is read-only. Once a state is visited its entry in
+     * {@code parents} is replaced by the parent state.
+     */
+    private static final class Search {
+
+        private static final int UNREACHED = Integer.MAX_VALUE;
+
+        private final CompactGraph graph;
+
+        private final CompactGraph reverse;
+
+        private final IntPredicate goal;
+
+        private final AtomicBitSet visited;
+
+        private final AtomicIntegerArray parents;
+
+        private final int[] frontierPositions;
+
+        private Search(CompactGraph graph, IntPredicate goal) {
+            this.graph = graph;
+            this.reverse = graph.reverse();
+            this.goal = goal;
+            this.visited = new AtomicBitSet(graph.size());
+            this.parents = new AtomicIntegerArray(graph.size());
+            this.frontierPositions = new int[graph.size()];
+            IntStream.range(0, graph.size()).parallel().forEach(s -> parents.set(s, UNREACHED));
+            Arrays.fill(frontierPositions, NONE);
+        }
+
+        private SearchResult run(int s0) {
+            var frontier = new int[]{s0};
+            visited.set(s0);
+            parents.set(s0, NONE);
+            var statesVisited = 0;
+            var unvisitedEdges = (long) graph.getEdgeCount() - (reverse.edgeEnd(s0) - reverse.edgeStart(s0));
+
+            while (frontier.length > 0) {
+                final var current = frontier;
+                final var first = IntStream.range(0, current.length).parallel()
+                    .filter(i -> goal.test(current[i]))
+                    .min();
+                if (first.isPresent()) {
+                    return success(current[first.getAsInt()], statesVisited + first.getAsInt() + 1);
+                }
+                statesVisited += current.length;
+
+                final var frontierEdges = IntStream.range(0, current.length).parallel()
+                    .mapToLong(i -> graph.edgeEnd(current[i]) - graph.edgeStart(current[i]))
+                    .sum();
+                if (frontierEdges > BOTTOM_UP_FACTOR * unvisitedEdges) {
+                    bottomUp(current);
+                } else {
+                    topDown(current);
+                }
+
+                final var discovered = collect(current);
+                IntStream.range(0, discovered.length).parallel().forEach(i -> {
+                    final var m = discovered[i];
+                    visited.set(m);
+                    parents.set(m, current[parents.get(m)]);
+                });
+                unvisitedEdges -= IntStream.range(0, discovered.length).parallel()
+                    .mapToLong(i -> reverse.edgeEnd(discovered[i]) - reverse.edgeStart(discovered[i]))
+                    .sum();
+                frontier = discovered;
+            }
+
+            return new SearchResult("PBFS", false, statesVisited, graph, null);
+        }
+
+        private void topDown(int[] frontier) {
+            IntStream.range(0, frontier.length).parallel().forEach(i -> {
+                final var state = frontier[i];
+                for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                    final var m = graph.getTarget(e);
+                    if (!visited.get(m)) {
+                        lowerParent(m, i);
+                    }
+                }
+            });
+        }
+
+        private void bottomUp(int[] frontier) {
+            IntStream.range(0, frontier.length).parallel().forEach(i -> frontierPositions[frontier[i]] = i);
+            IntStream.range(0, graph.size()).parallel().forEach(m -> {
+                if (visited.get(m)) {
+                    return;
+                }
+                var parent = UNREACHED;
+                for (var e = reverse.edgeStart(m); e < reverse.edgeEnd(m); e++) {
+                    final var position = frontierPositions[reverse.getTarget(e)];
+                    if (position != NONE && position < parent) {
+                        parent = position;
+                    }
+                }
+                parents.set(m, parent);
+            });
+            IntStream.range(0, frontier.length).parallel().forEach(i -> frontierPositions[frontier[i]] = NONE);
+        }
+
+        private void lowerParent(int m, int position) {
+            var current = parents.get(m);
+            while (position < current) {
+                final var witness = parents.compareAndExchange(m, current, position);
+                if (witness == current) {
+                    return;
+                }
+                current = witness;
+            }
+        }
+
+        /**
+         * Lists the states reached on this level in the order the sequential BFS first reaches them: by the frontier
+         * position of their parent, then by state id, which is the order of the parent's edges.
+         */
+        private int[] collect(int[] frontier) {
+            final var chunks = (frontier.length + CHUNK - 1) / CHUNK;
+            final var counts = new int[chunks + 1];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                var count = 0;
+                for (var i = c * CHUNK; i < Math.min(frontier.length, (c + 1) * CHUNK); i++) {
+                    count += children(frontier, i, null, 0);
+                }
+                counts[c + 1] = count;
+            });
+            for (var c = 0; c < chunks; c++) {
+                counts[c + 1] += counts[c];
+            }
+
+            final var next = new int[counts[chunks]];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                var offset = counts[c];
+                for (var i = c * CHUNK; i < Math.min(frontier.length, (c + 1) * CHUNK); i++) {
+                    offset += children(frontier, i, next, offset);
+                }
+            });
+            return next;
+        }
+
+        /**
+         * Counts the states whose parent is {@code frontier[i]}, and writes them to {@code out} if it is given.
+         */
+        private int children(int[] frontier, int i, int[] out, int offset) {
+            final var state = frontier[i];
+            var count = 0;
+            for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                final var m = graph.getTarget(e);
+                if (!visited.get(m) && parents.get(m) == i) {
+                    if (out != null) {
+                        out[offset + count] = m;
+                    }
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private SearchResult success(int end, int statesVisited) {
+            var length = 0;
+            for (var s = end; s != NONE; s = parents.get(s)) {
+                length++;
+            }
+            final var path = new int[length];
+            for (var s = end; s != NONE; s = parents.get(s)) {
+                path[--length] = s;
+            }
+            return new SearchResult("PBFS", true, statesVisited, graph, path);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package ui.algorithm.impl;
+
+import ui.algorithm.SearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+public class SimplifiedMemoryBoundedAStar implements SearchAlgorithm {
+
+    private static final int NONE = -1;
+
+    private static final double INFINITY = Double.POSITIVE_INFINITY;
+
+    private final IntSupplier nodeBudget;
+
+    public SimplifiedMemoryBoundedAStar(IntSupplier nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * SMA* algorithm
+     *
+     * <pre>
+     *function smaStarSearch(s0, succ, goal, h, budget)
+     *  if no goal state is reachable from s0 then return fail
+     *  open ← [initial(s0)]
+     *  while open =/= [] do
+     *      n ← deepest node of open with the lowest f
+     *      if goal(state(n)) then return n
+     *      m ← next successor of n, regenerating forgotten ones once all were generated
+     *      f(m) ← depth(m) < budget - 1 ? max(f(n), g(m) + h(state(m))) : ∞
+     *      if all successors of n are in memory then remove(n, open)
+     *      if memory is full then
+     *          w ← shallowest leaf with the highest f
+     *          remember f(w) in parent(w), delete w, insert parent(w) in open
+     *      insert m in open
+     *      back up f(n) to the lowest f of its successors, and on up through its ancestors
+     *  return fail
+     * </pre>
+     *
+     * At most {@code budget} nodes are kept. The search is optimal if the optimal solution has fewer than
+     * {@code budget} states, and fails rather than running out of memory otherwise. Forgotten nodes are regenerated
+     * as often as their backed-up f comes up again, so with a small budget on a graph with many cycles the number of
+     * expansions can grow exponentially. Without a reachable goal every f would have to back up to infinity before the
+     * search gave up, so that case is ruled out first by one breadth-first pass.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        if (!graph.canReach(s0, goal)) {
+            final var result = new SearchResult("SMASTAR", false, 0, graph, null);
+            result.setPeakMemory(0);
+            return result;
+        }
+        return new Search(graph, goal, Math.max(2, nodeBudget.getAsInt())).run(s0);
+    }
+
+
+    /**
+     * State of one search. Nodes live in slots of parallel arrays, sized for the number of states and grown up to the
+     * budget only if the tree holds more nodes than that; the children of a node are a doubly linked list through its
+     * slots and freed slots are reused.
+     */
+    private static final class Search {
+
+        private final CompactGraph graph;
+
+        private final IntPredicate goal;
+
+        private final int budget;
+
+        private int[] states;
+
+        private int[] parents;
+
+        private double[] g;
+
+        private double[] f;
+
+        private int[] depths;
+
+        private int[] cursors;
+
+        private double[] forgotten;
+
+        private int[] firstChildren;
+
+        private int[] nextSiblings;
+
+        private int[] previousSiblings;
+
+        private int[] free;
+
+        private int freeSize;
+
+        // slots [0, allocated) were handed out at least once, the rest were never used
+        private int allocated;
+
+        private int used;
+
+        private int peakMemory;
+
+        private int statesVisited;
+
+        // lowest f first, deeper nodes first on ties
+        private final SlotHeap open;
+
+        // highest f first, shallower nodes first on ties; the root is never evicted, so it is left out
+        private final SlotHeap leaves;
+
+        // the states and slots on the path from the root to pathEnd, the node expanded last
+        private final BitSet onPath;
+
+        private final BitSet onPathSlots;
+
+        private int pathEnd = NONE;
+
+        private Search(CompactGraph graph, IntPredicate goal, int budget) {
+            this.graph = graph;
+            this.goal = goal;
+            this.budget = budget;
+            final var capacity = Math.min(budget, Math.max(2, graph.size()));
+            this.states = new int[capacity];
+            this.parents = new int[capacity];
+            this.g = new double[capacity];
+            this.f = new double[capacity];
+            this.depths = new int[capacity];
+            this.cursors = new int[capacity];
+            this.forgotten = new double[capacity];
+            this.firstChildren = new int[capacity];
+            this.nextSiblings = new int[capacity];
+            this.previousSiblings = new int[capacity];
+            this.free = new int[capacity];
+            this.open = new SlotHeap(capacity, true);
+            this.leaves = new SlotHeap(capacity, false);
+            this.onPath = new BitSet(graph.size());
+            this.onPathSlots = new BitSet(capacity);
+        }
+
+        private SearchResult run(int s0) {
+            final var root = allocate(s0, NONE, 0.0, graph.getHeuristicValue(s0));
+            open.add(root);
+
+            while (!open.isEmpty()) {
+                final var n = open.peek();
+                if (f[n] == INFINITY) {
+                    break;
+                }
+                if (goal.test(states[n])) {
+                    return result(true, n);
+                }
+
+                if (cursors[n] == graph.edgeStart(states[n])) {
+                    statesVisited++;
+                }
+                moveTo(n);
+                final var e = nextSuccessor(n);
+                if (e == NONE) {
+                    open.remove(n);
+                    backUp(n);
+                    continue;
+                }
+                if (used == budget && !evict(n)) {
+                    // nothing but n's own ancestors is in memory, so the successor cannot be kept
+                    continue;
+                }
+
+                final var m = graph.getTarget(e);
+                final var mg = g[n] + graph.getCost(e);
+                final var mf = depths[n] + 1 < budget - 1 || goal.test(m)
+                    ? Math.max(f[n], mg + graph.getHeuristicValue(m))
+                    : INFINITY;
+                final var child = allocate(m, n, mg, mf);
+                open.add(child);
+                leaves.add(child);
+
+                if (cursors[n] == graph.edgeEnd(states[n]) && forgotten[n] == INFINITY) {
+                    open.remove(n);
+                }
+                backUp(n);
+            }
+
+            return result(false, NONE);
+        }
+
+        /**
+         * Marks the path from the root to {@code n} in {@link #onPath}, clearing only the part of the previous path
+         * below the node both paths share.
+         */
+        private void moveTo(int n) {
+            var shared = n;
+            while (shared != NONE && !onPathSlots.get(shared)) {
+                shared = parents[shared];
+            }
+            for (var a = pathEnd; a != shared; a = parents[a]) {
+                onPath.clear(states[a]);
+                onPathSlots.clear(a);
+            }
+            for (var a = n; a != shared; a = parents[a]) {
+                onPath.set(states[a]);
+                onPathSlots.set(a);
+            }
+            pathEnd = n;
+        }
+
+        /**
+         * Advances the successor cursor of {@code n} to the next edge whose target is neither in memory as a child
+         * of {@code n} nor on its path from the root. Once every edge was generated and some child was forgotten,
+         * the cursor starts over.
+         */
+        private int nextSuccessor(int n) {
+            final var state = states[n];
+            if (cursors[n] == graph.edgeEnd(state) && forgotten[n] != INFINITY) {
+                cursors[n] = graph.edgeStart(state);
+                forgotten[n] = INFINITY;
+            }
+            while (cursors[n] < graph.edgeEnd(state)) {
+                final var e = cursors[n]++;
+                final var m = graph.getTarget(e);
+                if (!isChild(n, m) && !onPath.get(m)) {
+                    return e;
+                }
+            }
+            return NONE;
+        }
+
+        private boolean isChild(int n, int state) {
+            for (var c = firstChildren[n]; c != NONE; c = nextSiblings[c]) {
+                if (states[c] == state) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Sets the f of a fully generated node to the lowest f among its children and forgotten children, and
+         * repeats for its ancestors while that changes anything.
+         */
+        private void backUp(int n) {
+            while (n != NONE && cursors[n] == graph.edgeEnd(states[n])) {
+                var lowest = forgotten[n];
+                for (var c = firstChildren[n]; c != NONE; c = nextSiblings[c]) {
+                    lowest = Math.min(lowest, f[c]);
+                }
+                if (lowest == f[n]) {
+                    return;
+                }
+                f[n] = lowest;
+                open.update(n);
+                leaves.update(n);
+                n = parents[n];
+            }
+        }
+
+        /**
+         * Deletes the shallowest leaf with the highest f other than {@code keep}, and returns whether there was one.
+         */
+        private boolean evict(int keep) {
+            var w = leaves.isEmpty() ? NONE : leaves.peek();
+            if (w == keep) {
+                leaves.remove(keep);
+                w = leaves.isEmpty() ? NONE : leaves.peek();
+                leaves.add(keep);
+            }
+            if (w == NONE) {
+                return false;
+            }
+
+            final var parent = parents[w];
+            open.remove(w);
+            leaves.remove(w);
+            unlink(w);
+            forgotten[parent] = Math.min(forgotten[parent], f[w]);
+            if (firstChildren[parent] == NONE && parents[parent] != NONE) {
+                leaves.add(parent);
+            }
+            if (!open.contains(parent) && forgotten[parent] != INFINITY) {
+                open.add(parent);
+            }
+            free[freeSize++] = w;
+            used--;
+            return true;
+        }
+
+        private int allocate(int state, int parent, double g, double f) {
+            if (freeSize == 0 && allocated == states.length) {
+                grow((int) Math.min(budget, 2L * states.length));
+            }
+            final var n = freeSize > 0 ? free[--freeSize] : allocated++;
+            used++;
+            peakMemory = Math.max(peakMemory, used);
+            states[n] = state;
+            parents[n] = parent;
+            this.g[n] = g;
+            this.f[n] = f;
+            depths[n] = parent == NONE ? 0 : depths[parent] + 1;
+            cursors[n] = graph.edgeStart(state);
+            forgotten[n] = INFINITY;
+            firstChildren[n] = NONE;
+            previousSiblings[n] = NONE;
+            nextSiblings[n] = NONE;
+            if (parent != NONE) {
+                if (firstChildren[parent] == NONE) {
+                    leaves.remove(parent);
+                } else {
+                    previousSiblings[firstChildren[parent]] = n;
+                }
+                nextSiblings[n] = firstChildren[parent];
+                firstChildren[parent] = n;
+            }
+            return n;
+        }
+
+        private void grow(int capacity) {
+            states = Arrays.copyOf(states, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            g = Arrays.copyOf(g, capacity);
+            f = Arrays.copyOf(f, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            cursors = Arrays.copyOf(cursors, capacity);
+            forgotten = Arrays.copyOf(forgotten, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            previousSiblings = Arrays.copyOf(previousSiblings, capacity);
+            free = Arrays.copyOf(free, capacity);
+            open.grow(capacity);
+            leaves.grow(capacity);
+        }
+
+        private void unlink(int n) {
+            if (previousSiblings[n] == NONE) {
+                firstChildren[parents[n]] = nextSiblings[n];
+            } else {
+                nextSiblings[previousSiblings[n]] = nextSiblings[n];
+            }
+            if (nextSiblings[n] != NONE) {
+                previousSiblings[nextSiblings[n]] = previousSiblings[n];
+            }
+        }
+
+        private SearchResult result(boolean found, int end) {
+            int[] path = null;
+            if (end != NONE) {
+                path = new int[depths[end] + 1];
+                for (var n = end; n != NONE; n = parents[n]) {
+                    path[depths[n]] = states[n];
+                }
+            }
+            final var result = new SearchResult("SMASTAR", found, found ? statesVisited + 1 : statesVisited, graph, path);
+            result.setPeakMemory(peakMemory);
+            return result;
+        }
+
+        /**
+         * Binary heap over node slots, ordered by the f and depth in the slot arrays, so a node whose f changes has to
+         * be {@link #update(int) updated}. Ties are broken by the smaller slot.
+         */
+        private final class SlotHeap {
+
+            // lowest f and deepest first if set, highest f and shallowest first otherwise
+            private final boolean lowest;
+
+            private int[] heap;
+
+            private int[] positions;
+
+            private int size;
+
+            private SlotHeap(int capacity, boolean lowest) {
+                this.lowest = lowest;
+                this.heap = new int[capacity];
+                this.positions = new int[capacity];
+                Arrays.fill(positions, NONE);
+            }
+
+            private void grow(int capacity) {
+                final var old = positions.length;
+                heap = Arrays.copyOf(heap, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+                Arrays.fill(positions, old, capacity, NONE);
+            }
+
+            private boolean isEmpty() {
+                return size == 0;
+            }
+
+            private boolean contains(int n) {
+                return positions[n] != NONE;
+            }
+
+            private int peek() {
+                return heap[0];
+            }
+
+            private void add(int n) {
+                siftUp(size++, n);
+            }
+
+            private void remove(int n) {
+                final var i = positions[n];
+                if (i == NONE) {
+                    return;
+                }
+                positions[n] = NONE;
+                final var last = heap[--size];
+                if (i < size) {
+                    siftUp(i, last);
+                    siftDown(positions[last], last);
+                }
+            }
+
+            private void update(int n) {
+                if (contains(n)) {
+                    siftUp(positions[n], n);
+                    siftDown(positions[n], n);
+                }
+            }
+
+            private void siftUp(int i, int n) {
+                while (i > 0) {
+                    final var parent = (i - 1) >>> 1;
+                    if (!before(n, heap[parent])) {
+                        break;
+                    }
+                    place(i, heap[parent]);
+                    i = parent;
+                }
+                place(i, n);
+            }
+
+            private void siftDown(int i, int n) {
+                final var half = size >>> 1;
+                while (i < half) {
+                    var child = 2 * i + 1;
+                    final var right = child + 1;
+                    if (right < size && before(heap[right], heap[child])) {
+                        child = right;
+                    }
+                    if (!before(heap[child], n)) {
+                        break;
+                    }
+                    place(i, heap[child]);
+                    i = child;
+                }
+                place(i, n);
+            }
+
+            private void place(int i, int n) {
+                heap[i] = n;
+                positions[n] = i;
+            }
+
+            private boolean before(int a, int b) {
+                if (f[a] != f[b]) {
+                    return lowest == f[a] < f[b];
+                }
+                if (depths[a] != depths[b]) {
+                    return lowest == depths[a] > depths[b];
+                }
+                return a < b;
+            }
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package ui.algorithm.impl;
 
-import ui.algorithm.SearchAlgorithm;
-import ui.model.Node;
+import ui.algorithm.StateSpaceSearchAlgorithm;
+import ui.metrics.Phase;
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+import ui.model.PackedNodePool;
 import ui.result.SearchResult;
+import ui.space.StateSpace;
+import ui.util.LongHashSet;
+import ui.util.MinHeap;
+import ui.util.ShortestPaths;
 
-import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.IntPredicate;
 
-public class UniformCostSearch implements SearchAlgorithm {
+public class UniformCostSearch implements StateSpaceSearchAlgorithm {
 
     /**
      * UCS algorithm
@@ -28,50 +31,65 @@ public class UniformCostSearch implements SearchAlgorithm {
      *  return fail
      *where f(n) = g(n) + h(state(n))
      * </pre>
+     *
+     * Runs as a single-source {@link ShortestPaths} search that stops at the first goal it removes from open.
+     */
+    @Override
+    public SearchResult find(CompactGraph graph, int s0, IntPredicate goal) {
+        final var metrics = new SearchMetrics();
+        final var paths = new ShortestPaths(graph);
+        paths.setMetrics(metrics);
+        paths.addSource(s0);
+        final var end = paths.run(goal);
+        if (end == ShortestPaths.NONE) {
+            return fail(graph, paths, metrics);
+        }
+        return success(graph, paths, end, metrics);
+    }
+
+    /**
+     * UCS over a generated space. Like A* there, open may hold several nodes per state and the ones whose state was
+     * already closed are skipped when removed.
      */
     @Override
-    public SearchResult find(Node s0, Function<Node, Collection<Node>> succ, Predicate<Node> goal) {
-        final var open = new PriorityQueue<>(Comparator.comparingDouble(Node::getG).thenComparing(Node::getId));
-        open.add(s0);
-        final var visited = new HashSet<String>();
+    public SearchResult find(StateSpace space) {
+        final var nodes = new PackedNodePool();
+        final var open = new MinHeap();
+        final var closed = new LongHashSet(1 << 16);
+        open.add(nodes.add(space.getStartState(), PackedNodePool.NONE, 0.0), 0.0);
 
         while (!open.isEmpty()) {
-            var n = open.remove();
-            if (goal.test(n)) {
-                return success(n, visited.size());
+            final var n = open.remove();
+            final var state = nodes.getState(n);
+            if (!closed.add(state)) {
+                continue;
             }
-            visited.add(n.getId());
-            for (var m : expand(n, succ)) {
-                if (!visited.contains(m.getId())) {
-                    open.add(m);
-                }
+            if (space.isEndState(state)) {
+                return new SearchResult("UCS", true, closed.size(), space, nodes, n);
             }
+            space.forEachSuccessor(state, (m, cost) -> {
+                if (!closed.contains(m)) {
+                    final var g = nodes.getG(n) + cost;
+                    open.add(nodes.add(m, n, g), g);
+                }
+            });
         }
 
-        return fail(null, visited.size());
+        return new SearchResult("UCS", false, closed.size(), space, nodes, PackedNodePool.NONE);
     }
 
-    @Override
-    public SearchResult success(Node n, int statesVisited) {
-        return new SearchResult("UCS", true, statesVisited + 1, n);
+    private SearchResult success(CompactGraph graph, ShortestPaths paths, int end, SearchMetrics metrics) {
+        final var result = metrics.time(
+            Phase.PATH_RECONSTRUCTION,
+            () -> new SearchResult("UCS", true, paths.getSettledCount() + 1, graph, paths.tracePath(end))
+        );
+        result.setMetrics(metrics);
+        return result;
     }
 
-    @Override
-    public SearchResult fail(Node n, int statesVisited) {
-        return new SearchResult("UCS", false, statesVisited, n);
-    }
-
-    @Override
-    public List<Node> expand(Node n, Function<Node, Collection<Node>> succ) {
-        return succ.apply(n).stream()
-            .map(node -> {
-                final var newNode = new Node(node.getId());
-                newNode.setConnectedNodes(node.getConnectedNodes());
-                newNode.setParent(n);
-                newNode.setHeuristicValue(node.getHeuristicValue());
-                newNode.setG(n.getConnectedNodeCost(node) + n.getG());
-                return newNode;
-            })
-            .collect(Collectors.toList());
+    private SearchResult fail(CompactGraph graph, ShortestPaths paths, SearchMetrics metrics) {
+        final var result = new SearchResult("UCS", false, paths.getSettledCount(), graph, null);
+        result.setMetrics(metrics);
+        return result;
     }
 }
@@ -0,0 +1,95 @@
+package ui.benchmark;
+
+import ui.Solution;
+import ui.model.CompactGraph;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Measures how the goal test scales with the number of end states by running UCS over a synthetic graph with three
+ * goal predicates: a stream over the end states as the searches used to build it, a plain scan over them, and
+ * {@link CompactGraph#isEndState(int)}.
+ *
+ * <p>The end states have no incoming edges, so every search expands all other states and tests each one.
+ *
+ * <pre>
+ * java -cp target/classes ui.benchmark.GoalTestBenchmark [states] [goals] [iterations]
+ * </pre>
+ */
+public class GoalTestBenchmark {
+
+    private static final int WARMUP = 3;
+
+    private static final int DEGREE = 4;
+
+    public static void main(String[] args) {
+        final var states = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final var goals = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        final var iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        final var graph = generate(states, goals);
+        final var endStates = graph.getEndStates();
+
+        run("stream", iterations, graph, state -> Arrays.stream(graph.getEndStates()).anyMatch(s -> s == state));
+        run("scan", iterations, graph, state -> {
+            for (final var endState : endStates) {
+                if (endState == state) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        run("bitset", iterations, graph, graph::isEndState);
+    }
+
+    private static CompactGraph generate(int states, int goals) {
+        final var random = new Random(42);
+        final var builder = new CompactGraph.Builder();
+        final var ids = new int[states];
+        for (var s = 0; s < states; s++) {
+            ids[s] = builder.addState(String.format("s%08d", s));
+        }
+
+        final var reachable = states - goals;
+        for (var s = 0; s < reachable; s++) {
+            builder.addEdge(ids[s], ids[(s + 1) % reachable], 1 + random.nextInt(20));
+            for (var d = 1; d < DEGREE; d++) {
+                builder.addEdge(ids[s], ids[random.nextInt(reachable)], 1 + random.nextInt(20));
+            }
+        }
+        builder.setStartState(ids[0]);
+        for (var s = reachable; s < states; s++) {
+            builder.addEndState(ids[s]);
+        }
+        return builder.build();
+    }
+
+    private static void run(String name, int iterations, CompactGraph graph, IntPredicate goal) {
+        final var ucs = Solution.ALGORITHMS.get("ucs");
+        for (var i = 0; i < WARMUP; i++) {
+            ucs.find(graph, graph.getStartState(), goal);
+        }
+
+        var best = Long.MAX_VALUE;
+        var total = 0L;
+        for (var i = 0; i < iterations; i++) {
+            final var start = System.nanoTime();
+            ucs.find(graph, graph.getStartState(), goal);
+            final var elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+
+        System.out.printf(
+            Locale.US,
+            "%-8s avg %10.3f ms  best %10.3f ms  (%d states, %d goals)%n",
+            name,
+            total / 1e6 / iterations,
+            best / 1e6,
+            graph.size(),
+            graph.getEndStates().length
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package ui.benchmark;
+
+import ui.DataLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Compares the line-splitting parser the state spaces used to be loaded with, kept here as {@link #loadLines(String)},
+ * with the memory-mapped {@link DataLoader#loadCompactStates(String)} on one state space file.
+ *
+ * <pre>
+ * java -cp target/classes ui.benchmark.LoaderBenchmark files/istra.txt [iterations]
+ * </pre>
+ */
+public class LoaderBenchmark {
+
+    private static final int WARMUP = 3;
+
+    public static void main(String[] args) {
+        final var fileName = args[0];
+        final var iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final var loader = new DataLoader("");
+
+        run("loadLines", iterations, () -> loadLines(fileName));
+        run("loadCompactStates", iterations, () -> loader.loadCompactStates(fileName));
+    }
+
+    /**
+     * Reads the whole file into lines and splits every transition line into a map from each state to its successors
+     * and their costs, after the start and goal state lines.
+     */
+    private static Map<String, Map<String, Double>> loadLines(String fileName) {
+        final Map<String, Map<String, Double>> successors = new HashMap<>();
+        var header = 2;
+        try {
+            for (final var line : Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8)) {
+                if (line.charAt(0) == '#') {
+                    continue;
+                }
+                if (header > 0) {
+                    header--;
+                    continue;
+                }
+                final var split = line.split(":");
+                final var connected = successors.computeIfAbsent(split[0], id -> new HashMap<>());
+                if (split.length == 1 || split[1].isBlank()) {
+                    continue;
+                }
+                for (final var edge : split[1].trim().split(" ")) {
+                    final var target = edge.split(",");
+                    successors.computeIfAbsent(target[0].trim(), id -> new HashMap<>());
+                    connected.put(target[0].trim(), Double.parseDouble(target[1]));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return successors;
+    }
+
+    private static void run(String name, int iterations, Supplier<Object> load) {
+        for (var i = 0; i < WARMUP; i++) {
+            load.get();
+        }
+
+        var best = Long.MAX_VALUE;
+        var total = 0L;
+        Object graph = null;
+        for (var i = 0; i < iterations; i++) {
+            final var start = System.nanoTime();
+            graph = load.get();
+            final var elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+
+        System.gc();
+        final var runtime = Runtime.getRuntime();
+        final var heap = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf(
+            Locale.US,
+            "%-18s avg %10.3f ms  best %10.3f ms  heap %8.1f MB  (%s)%n",
+            name,
+            total / 1e6 / iterations,
+            best / 1e6,
+            heap / (1024.0 * 1024.0),
+            graph == null ? "-" : graph.getClass().getSimpleName()
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package ui.benchmark;
+
+import ui.DataLoader;
+import ui.Solution;
+import ui.algorithm.impl.HashDistributedAStar;
+import ui.model.CompactGraph;
+
+import java.util.Locale;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs HDA* with 1, 2, 4, ... up to the given number of threads on one state space and prints the speedup of each
+ * over sequential A*.
+ *
+ * <pre>
+ * java -cp target/classes ui.benchmark.ParallelSearchBenchmark files/istra.txt [heuristic file] [threads] [iterations]
+ * </pre>
+ */
+public class ParallelSearchBenchmark {
+
+    private static final int WARMUP = 3;
+
+    public static void main(String[] args) {
+        final var loader = new DataLoader("");
+        final var graph = loader.loadCompactStates(args[0]);
+        if (args.length > 1 && !args[1].isEmpty()) {
+            loader.loadHeuristicValues(args[1], graph);
+        }
+        final var maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        final var iterations = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        final var sequential = time(graph, Solution.ALGORITHMS.get("astar")::find, iterations);
+        print("astar", sequential, sequential);
+        for (var threads = 1; threads <= maxThreads; threads *= 2) {
+            final var workers = threads;
+            final var hdaStar = new HashDistributedAStar(() -> workers);
+            print("hdastar x" + threads, time(graph, hdaStar::find, iterations), sequential);
+        }
+    }
+
+    private static double time(CompactGraph graph, Search search, int iterations) {
+        for (var i = 0; i < WARMUP; i++) {
+            search.find(graph, graph.getStartState(), graph::isEndState);
+        }
+        var best = Long.MAX_VALUE;
+        for (var i = 0; i < iterations; i++) {
+            final var start = System.nanoTime();
+            search.find(graph, graph.getStartState(), graph::isEndState);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static void print(String name, double millis, double sequential) {
+        System.out.printf(Locale.US, "%-12s best %10.3f ms  speedup %5.2fx%n", name, millis, sequential / millis);
+    }
+
+    @FunctionalInterface
+    private interface Search {
+
+        Object find(CompactGraph graph, int s0, IntPredicate goal);
+    }
+}
@@ -2,83 +2,176 @@ package ui.heuristic;
 
 import ui.Config;
 import ui.Solution;
-import ui.model.Graph;
-import ui.model.Node;
+import ui.model.CompactGraph;
+import ui.model.GraphEdit;
+import ui.result.ResultWriter;
+import ui.util.ShortestPaths;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 public class Heuristic {
 
+    public static final String REVERSE = "reverse";
+
+    public static final String FORWARD = "forward";
+
     private Heuristic() {
     }
 
-    public static void isOptimistic(Graph graph, Config config) {
-        final var sorted = graph.nodes.values().stream()
-            .sorted(Comparator.comparing(Node::getId))
-            .collect(Collectors.toList());
+    public static void isOptimistic(CompactGraph graph, Config config) {
+        final var trueCosts = FORWARD.equals(config.getOptimisticCheckMode())
+            ? forwardTrueCosts(graph, config.getThreads())
+            : reverseTrueCosts(graph);
 
         Solution.out.println("# HEURISTIC-OPTIMISTIC " + config.getHeuristicsFilePath());
         var isOptimistic = true;
-        for (var start : sorted) {
-            final var searchResult = Solution.ALGORITHMS.get("ucs").find(
-                start,
-                node -> node.getConnectedNodes().keySet()
-                    .stream()
-                    .sorted(Comparator.comparing(Node::getId))
-                    .collect(Collectors.toList()),
-                node -> graph.getEndStates().stream().anyMatch(n -> n.getId().equals(node.getId()))
-            );
-            var isOpt = start.getHeuristicValue() <= searchResult.getTotalCost();
+        for (var state = 0; state < graph.size(); state++) {
+            var isOpt = graph.getHeuristicValue(state) <= trueCosts[state];
             if (!isOpt) {
                 isOptimistic = false;
             }
 
-            Solution.out.printf(
-                Locale.US,
-                "[CONDITION]: [%s] h(%s) <= h*: %.1f <= %.1f%n",
-                isOpt ? "OK" : "ERR",
-                start.getId(),
-                start.getHeuristicValue(),
-                searchResult.getTotalCost()
-            );
+            writeOptimisticCondition(Solution.out, graph, isOpt, state, trueCosts[state]);
         }
 
         Solution.out.println("[CONCLUSION]: Heuristic " + (isOptimistic ? "is" : "is not") + " optimistic.");
     }
 
-    public static void isConsistent(Graph graph, Config config) {
-        final List<Node> sorted = graph.nodes.values().stream()
-            .sorted(Comparator.comparing(Node::getId))
-            .collect(Collectors.toList());
+    /**
+     * Computes h* for every state with one Dijkstra search over the reversed graph, started from all end states at
+     * once. States that cannot reach an end state get 0, the cost UCS reports when it finds no path.
+     */
+    public static double[] reverseTrueCosts(CompactGraph graph) {
+        final var costs = ShortestPaths.distances(graph.reverse(), graph.getEndStates());
+        for (var state = 0; state < costs.length; state++) {
+            if (costs[state] == Double.POSITIVE_INFINITY) {
+                costs[state] = 0.0;
+            }
+        }
+        return costs;
+    }
 
+    /**
+     * Computes h* for every state with a separate UCS search from each state, split across a fork-join pool with
+     * the given parallelism.
+     */
+    public static double[] forwardTrueCosts(CompactGraph graph, int threads) {
+        final var ucs = Solution.ALGORITHMS.get("ucs");
+        final var costs = new double[graph.size()];
+        final var pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, graph.size())
+                .parallel()
+                .forEach(state -> costs[state] = ucs.find(graph, state, graph::isEndState).getTotalCost())
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return costs;
+    }
+
+    public static void isConsistent(CompactGraph graph, Config config) {
         Solution.out.println("# HEURISTIC-CONSISTENT " + config.getHeuristicsFilePath());
         boolean isConsistent = true;
-        for (final Node node : sorted) {
-            for (final var entry : node.getConnectedNodes().entrySet()) {
-                final Node n = entry.getKey();
-                final double cost = entry.getValue();
+        for (var state = 0; state < graph.size(); state++) {
+            for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                final int n = graph.getTarget(e);
+                final double cost = graph.getCost(e);
 
-                final boolean isCon = node.getHeuristicValue() <= n.getHeuristicValue() + cost;
+                final boolean isCon = graph.getHeuristicValue(state) <= graph.getHeuristicValue(n) + cost;
                 if (!isCon) {
                     isConsistent = false;
                 }
 
-                Solution.out.printf(
-                    Locale.US,
-                    "[CONDITION]: [%s] h(%s) <= h(%s) + c: %.1f <= %.1f + %.1f%n",
-                    isCon ? "OK" : "ERR",
-                    node.getId(),
-                    n.getId(),
-                    node.getHeuristicValue(),
-                    n.getHeuristicValue(),
-                    cost
-                );
+                writeConsistentCondition(Solution.out, graph, isCon, state, n, cost);
             }
         }
 
         Solution.out.println("[CONCLUSION]: Heuristic " + (isConsistent ? "is" : "is not") + " consistent.");
     }
+
+    /**
+     * Writes the line of one optimistic condition, shared by the full and the incremental check.
+     */
+    static void writeOptimisticCondition(ResultWriter out, CompactGraph graph, boolean ok, int state, double trueCost) {
+        out.print("[CONDITION]: [").print(ok ? "OK" : "ERR")
+            .print("] h(").print(graph.getName(state))
+            .print(") <= h*: ").printOneDecimal(graph.getHeuristicValue(state))
+            .print(" <= ").printOneDecimal(trueCost)
+            .println();
+    }
+
+    /**
+     * Writes the line of one consistent condition, for the edge {@code state -> target}.
+     */
+    static void writeConsistentCondition(
+        ResultWriter out,
+        CompactGraph graph,
+        boolean ok,
+        int state,
+        int target,
+        double cost
+    ) {
+        out.print("[CONDITION]: [").print(ok ? "OK" : "ERR")
+            .print("] h(").print(graph.getName(state))
+            .print(") <= h(").print(graph.getName(target))
+            .print(") + c: ").printOneDecimal(graph.getHeuristicValue(state))
+            .print(" <= ").printOneDecimal(graph.getHeuristicValue(target))
+            .print(" + ").printOneDecimal(cost)
+            .println();
+    }
+
+    /**
+     * Applies each batch of edits in turn and prints only the conditions it changed, followed by the conclusions of
+     * the enabled checks for the whole graph.
+     */
+    public static void checkEdits(CompactGraph graph, Config config, List<List<GraphEdit>> batches) {
+        checkEdits(graph, config, batches, batch -> {});
+    }
+
+    /**
+     * Like {@link #checkEdits(CompactGraph, Config, List)}, first passing every batch to {@code beforeCheck}, which
+     * may apply it to the graph itself.
+     */
+    public static void checkEdits(
+        CompactGraph graph,
+        Config config,
+        List<List<GraphEdit>> batches,
+        Consumer<List<GraphEdit>> beforeCheck
+    ) {
+        final var checker = new IncrementalHeuristicChecker(graph);
+        for (var i = 0; i < batches.size(); i++) {
+            beforeCheck.accept(batches.get(i));
+            batches.get(i).forEach(checker::apply);
+            final var conditions = checker.update();
+
+            if (config.isCheckOptimistic() || config.isCheckConsistent()) {
+                Solution.out.println("# HEURISTIC-UPDATE " + (i + 1) + " " + config.getEditsFilePath());
+            }
+            for (final var condition : conditions) {
+                if (condition.isOptimisticCondition() ? config.isCheckOptimistic() : config.isCheckConsistent()) {
+                    condition.write(Solution.out);
+                }
+            }
+            if (config.isCheckOptimistic()) {
+                Solution.out.println(
+                    "[CONCLUSION]: Heuristic " + (checker.isOptimistic() ? "is" : "is not") + " optimistic."
+                );
+            }
+            if (config.isCheckConsistent()) {
+                Solution.out.println(
+                    "[CONCLUSION]: Heuristic " + (checker.isConsistent() ? "is" : "is not") + " consistent."
+                );
+            }
+        }
+    }
 }
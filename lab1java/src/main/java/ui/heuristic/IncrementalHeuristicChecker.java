@@ -0,0 +1,282 @@
+package ui.heuristic;
+
+import ui.model.CompactGraph;
+import ui.model.GraphEdit;
+import ui.result.ResultWriter;
+import ui.util.ShortestPaths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Keeps the optimistic and consistent conditions of a heuristic up to date while edge costs and heuristic values
+ * change, without rechecking the whole graph.
+ *
+ * <p>h* comes from a {@link ShortestPaths} search over the reversed graph, whose parents are the successors the h* of
+ * each state goes through and together form a shortest path tree towards the end states. Edits are collected until
+ * {@link #update()}, which repairs h* in two steps: the states below a tree edge that got more expensive lose their
+ * values, and the same search, seeded from the edges around them and from edges that got cheaper, fills in
+ * everything that changed. Only the conditions of states whose h or h* changed, and of edges next to them, are then
+ * evaluated again.
+ */
+public final class IncrementalHeuristicChecker {
+
+    private static final int NONE = -1;
+
+    private final CompactGraph graph;
+
+    private final CompactGraph reverse;
+
+    private final ShortestPaths trueCosts;
+
+    private final BitSet notOptimistic;
+
+    private final BitSet notConsistent;
+
+    private final BitSet editedEdges;
+
+    private final BitSet editedStates;
+
+    private final int[] edgeSources;
+
+    // repair workspace: states whose h* was touched keep their value from before in previousCosts
+    private final BitSet touched;
+
+    private final double[] previousCosts;
+
+    private final BitSet invalid;
+
+    private final int[] stack;
+
+    public IncrementalHeuristicChecker(CompactGraph graph) {
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        final var n = graph.size();
+        this.notOptimistic = new BitSet(n);
+        this.notConsistent = new BitSet(graph.getEdgeCount());
+        this.editedEdges = new BitSet(graph.getEdgeCount());
+        this.editedStates = new BitSet(n);
+        this.edgeSources = new int[graph.getEdgeCount()];
+        this.touched = new BitSet(n);
+        this.previousCosts = new double[n];
+        this.invalid = new BitSet(n);
+        this.stack = new int[n];
+        this.trueCosts = new ShortestPaths(reverse, this::touch);
+        for (var s = 0; s < n; s++) {
+            Arrays.fill(edgeSources, graph.edgeStart(s), graph.edgeEnd(s), s);
+        }
+
+        for (final var endState : graph.getEndStates()) {
+            trueCosts.addSource(endState);
+        }
+        trueCosts.run(state -> false);
+
+        for (var s = 0; s < n; s++) {
+            notOptimistic.set(s, !isOptimistic(s));
+            for (var e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                notConsistent.set(e, !isConsistent(e));
+            }
+        }
+    }
+
+    public void apply(GraphEdit edit) {
+        if (edit.isHeuristic()) {
+            setHeuristicValue(edit.getFrom(), edit.getValue());
+        } else {
+            setCost(edit.getFrom(), edit.getTo(), edit.getValue());
+        }
+    }
+
+    public void setCost(int from, int to, double cost) {
+        graph.setCost(from, to, cost);
+        editedEdges.set(graph.edge(from, to));
+    }
+
+    public void setHeuristicValue(int state, double value) {
+        graph.setHeuristicValue(state, value);
+        editedStates.set(state);
+    }
+
+    /**
+     * h* of {@code state}, or 0 if it cannot reach an end state, the cost UCS reports when it finds no path.
+     */
+    public double getTrueCost(int state) {
+        final var cost = trueCosts.getCost(state);
+        return cost == Double.POSITIVE_INFINITY ? 0.0 : cost;
+    }
+
+    public boolean isOptimistic() {
+        return notOptimistic.isEmpty();
+    }
+
+    public boolean isConsistent() {
+        return notConsistent.isEmpty();
+    }
+
+    /**
+     * Applies the edits made since the last call and returns the conditions that were evaluated again because
+     * something they depend on changed, optimistic ones by state and then consistent ones by edge.
+     */
+    public List<Condition> update() {
+        final var changedStates = repairTrueCosts();
+        changedStates.or(editedStates);
+
+        final var changedEdges = (BitSet) editedEdges.clone();
+        for (var s = editedStates.nextSetBit(0); s >= 0; s = editedStates.nextSetBit(s + 1)) {
+            changedEdges.set(graph.edgeStart(s), graph.edgeEnd(s));
+            for (var r = reverse.edgeStart(s); r < reverse.edgeEnd(s); r++) {
+                changedEdges.set(graph.edge(reverse.getTarget(r), s));
+            }
+        }
+        editedStates.clear();
+        editedEdges.clear();
+
+        final var conditions = new ArrayList<Condition>();
+        for (var s = changedStates.nextSetBit(0); s >= 0; s = changedStates.nextSetBit(s + 1)) {
+            final var ok = isOptimistic(s);
+            notOptimistic.set(s, !ok);
+            conditions.add(new Condition(ok, s, NONE, getTrueCost(s)));
+        }
+        for (var e = changedEdges.nextSetBit(0); e >= 0; e = changedEdges.nextSetBit(e + 1)) {
+            final var ok = isConsistent(e);
+            notConsistent.set(e, !ok);
+            conditions.add(new Condition(ok, edgeSources[e], graph.getTarget(e), graph.getCost(e)));
+        }
+        return conditions;
+    }
+
+    /**
+     * Brings h* up to date with the edited edges and returns the states whose h* changed.
+     */
+    private BitSet repairTrueCosts() {
+        final var changed = new BitSet(graph.size());
+        if (editedEdges.isEmpty()) {
+            return changed;
+        }
+        touched.clear();
+        invalid.clear();
+
+        // tree edges that got more expensive invalidate the h* of every state whose path to a goal uses them
+        var top = 0;
+        for (var e = editedEdges.nextSetBit(0); e >= 0; e = editedEdges.nextSetBit(e + 1)) {
+            final var s = edgeSources[e];
+            final var target = graph.getTarget(e);
+            final var cost = graph.getCost(e) + trueCosts.getCost(target);
+            if (trueCosts.getParent(s) == target && cost > trueCosts.getCost(s)) {
+                invalid.set(s);
+                stack[top++] = s;
+            }
+        }
+        while (top > 0) {
+            final var s = stack[--top];
+            for (var r = reverse.edgeStart(s); r < reverse.edgeEnd(s); r++) {
+                final var p = reverse.getTarget(r);
+                if (!invalid.get(p) && trueCosts.getParent(p) == s) {
+                    invalid.set(p);
+                    stack[top++] = p;
+                }
+            }
+        }
+        for (var s = invalid.nextSetBit(0); s >= 0; s = invalid.nextSetBit(s + 1)) {
+            touch(s);
+            trueCosts.forget(s);
+        }
+
+        // invalidated states start from their best edge to a state that kept its h*, and states with a cheaper
+        // edited edge from the new cost of that edge
+        for (var s = invalid.nextSetBit(0); s >= 0; s = invalid.nextSetBit(s + 1)) {
+            for (var e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                if (!invalid.get(graph.getTarget(e))) {
+                    relax(s, e);
+                }
+            }
+        }
+        for (var e = editedEdges.nextSetBit(0); e >= 0; e = editedEdges.nextSetBit(e + 1)) {
+            relax(edgeSources[e], e);
+        }
+        trueCosts.run(state -> false);
+
+        for (var s = touched.nextSetBit(0); s >= 0; s = touched.nextSetBit(s + 1)) {
+            if (trueCosts.getCost(s) != previousCosts[s]) {
+                changed.set(s);
+            }
+        }
+        return changed;
+    }
+
+    private void touch(int s) {
+        if (!touched.get(s)) {
+            touched.set(s);
+            previousCosts[s] = trueCosts.getCost(s);
+        }
+    }
+
+    private void relax(int s, int e) {
+        final var target = graph.getTarget(e);
+        trueCosts.lower(s, graph.getCost(e) + trueCosts.getCost(target), target);
+    }
+
+    private boolean isOptimistic(int state) {
+        return graph.getHeuristicValue(state) <= getTrueCost(state);
+    }
+
+    private boolean isConsistent(int edge) {
+        return graph.getHeuristicValue(edgeSources[edge])
+               <= graph.getHeuristicValue(graph.getTarget(edge)) + graph.getCost(edge);
+    }
+
+    /**
+     * A re-evaluated condition. For an optimistic condition {@code target} is {@code -1} and {@code value} is h*,
+     * for a consistent one {@code value} is the cost of the edge {@code state -> target}.
+     */
+    public final class Condition {
+
+        private final boolean ok;
+
+        private final int state;
+
+        private final int target;
+
+        private final double value;
+
+        private Condition(boolean ok, int state, int target, double value) {
+            this.ok = ok;
+            this.state = state;
+            this.target = target;
+            this.value = value;
+        }
+
+        public boolean isOk() {
+            return ok;
+        }
+
+        public int getState() {
+            return state;
+        }
+
+        public int getTarget() {
+            return target;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public boolean isOptimisticCondition() {
+            return target == NONE;
+        }
+
+        /**
+         * Writes the condition like the lines of the full optimistic and consistent checks.
+         */
+        public void write(ResultWriter out) {
+            if (target == NONE) {
+                Heuristic.writeOptimisticCondition(out, graph, ok, state, value);
+            } else {
+                Heuristic.writeConsistentCondition(out, graph, ok, state, target, value);
+            }
+        }
+    }
+}
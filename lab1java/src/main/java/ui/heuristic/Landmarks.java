@@ -0,0 +1,164 @@
+package ui.heuristic;
+
+import ui.model.CompactGraph;
+import ui.util.ShortestPaths;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Distance tables for the ALT (A*, landmarks, triangle inequality) heuristic.
+ *
+ * <p>For every landmark {@code L} the tables hold {@code d(L, v)} and {@code d(v, L)} for all states {@code v}, each
+ * landmark in one contiguous row of a {@code double[]}, with infinity for states that do not reach each other. By the
+ * triangle inequality {@code d(v, t) >= d(v, L) - d(t, L)} and {@code d(v, t) >= d(L, t) - d(L, v)}, so the largest of
+ * these bounds is an admissible and consistent heuristic for any goal {@code t}.
+ */
+public final class Landmarks {
+
+    private final int size;
+
+    private final int[] landmarks;
+
+    private final double[] from;
+
+    private final double[] to;
+
+    private Landmarks(int size, int[] landmarks, double[] from, double[] to) {
+        this.size = size;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Picks {@code count} landmarks by farthest selection and computes their tables with two Dijkstra searches each.
+     * The first landmark is the state farthest from the start state; each next one is the state whose distance from
+     * the closest landmark chosen so far is largest, counting unreached states as farthest.
+     */
+    public static Landmarks build(CompactGraph graph, int count) {
+        final var n = graph.size();
+        count = Math.min(count, n);
+        if (count == 0) {
+            return new Landmarks(n, new int[0], new double[0], new double[0]);
+        }
+        final var landmarks = new int[count];
+        final var from = new double[count * n];
+        final var to = new double[count * n];
+        final var reverse = graph.reverse();
+
+        final var nearest = new double[n];
+        var candidate = farthest(ShortestPaths.distances(graph, Math.max(graph.getStartState(), 0)), landmarks, 0);
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        for (var l = 0; l < count; l++) {
+            landmarks[l] = candidate;
+            final var fromLandmark = ShortestPaths.distances(graph, candidate);
+            System.arraycopy(fromLandmark, 0, from, l * n, n);
+            System.arraycopy(ShortestPaths.distances(reverse, candidate), 0, to, l * n, n);
+            for (var v = 0; v < n; v++) {
+                nearest[v] = Math.min(nearest[v], fromLandmark[v]);
+            }
+            candidate = farthest(nearest, landmarks, l + 1);
+        }
+
+        return new Landmarks(n, landmarks, from, to);
+    }
+
+    /**
+     * Returns the heuristic towards the nearest of {@code goals}, evaluated on demand for each state.
+     */
+    public IntToDoubleFunction heuristic(int[] goals) {
+        return state -> {
+            var best = Double.POSITIVE_INFINITY;
+            for (final var goal : goals) {
+                best = Math.min(best, lowerBound(state, goal));
+            }
+            return goals.length == 0 ? 0.0 : best;
+        };
+    }
+
+    /**
+     * Returns the largest landmark lower bound on {@code d(v, t)}. Bounds involving unreached states are skipped, as
+     * they say nothing about the distance.
+     */
+    public double lowerBound(int v, int t) {
+        var bound = 0.0;
+        for (var l = 0; l < landmarks.length; l++) {
+            final var row = l * size;
+            final var vTo = to[row + v];
+            final var tTo = to[row + t];
+            if (vTo != Double.POSITIVE_INFINITY && tTo != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, vTo - tTo);
+            }
+            final var vFrom = from[row + v];
+            final var tFrom = from[row + t];
+            if (vFrom != Double.POSITIVE_INFINITY && tFrom != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, tFrom - vFrom);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Writes the tables in the layout read by {@link #read(ByteBuffer)}.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(landmarks.length);
+        for (final var landmark : landmarks) {
+            out.writeInt(landmark);
+        }
+        for (final var value : from) {
+            out.writeDouble(value);
+        }
+        for (final var value : to) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Reads tables written by {@link #write(DataOutput)} from the buffer's current position.
+     */
+    public static Landmarks read(ByteBuffer buffer) {
+        final var size = buffer.getInt();
+        final var landmarks = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(landmarks);
+        buffer.position(buffer.position() + landmarks.length * Integer.BYTES);
+        final var from = new double[landmarks.length * size];
+        buffer.asDoubleBuffer().get(from);
+        buffer.position(buffer.position() + from.length * Double.BYTES);
+        final var to = new double[landmarks.length * size];
+        buffer.asDoubleBuffer().get(to);
+        buffer.position(buffer.position() + to.length * Double.BYTES);
+        return new Landmarks(size, landmarks, from, to);
+    }
+
+    private static int farthest(double[] distances, int[] chosen, int chosenCount) {
+        var best = -1;
+        for (var v = 0; v < distances.length; v++) {
+            if (isChosen(v, chosen, chosenCount)) {
+                continue;
+            }
+            if (best < 0 || distances[v] > distances[best]) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isChosen(int v, int[] chosen, int chosenCount) {
+        for (var i = 0; i < chosenCount; i++) {
+            if (chosen[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package ui.metrics;
+
+/**
+ * Parts of a run that are timed separately.
+ */
+public enum Phase {
+    LOAD,
+    HEURISTIC_LOAD,
+    SEARCH,
+    PATH_RECONSTRUCTION;
+
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,23 @@
+package ui.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning one {@link Phase}, on the thread that ran it.
+ */
+@Name("ui.Phase")
+@Label("Search Phase")
+@Category({"Search"})
+@Description("Loading, heuristic loading, search or path reconstruction")
+public class PhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    public PhaseEvent(Phase phase) {
+        this.phase = phase.getLabel();
+    }
+}
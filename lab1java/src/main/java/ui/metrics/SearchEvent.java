@@ -0,0 +1,70 @@
+package ui.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning one search, committed with its result and counters.
+ */
+@Name("ui.Search")
+@Label("Search")
+@Category({"Search"})
+@Description("One run of a search algorithm")
+public class SearchEvent extends jdk.jfr.Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Found Solution")
+    boolean foundSolution;
+
+    @Label("States Visited")
+    int statesVisited;
+
+    @Label("Generated")
+    long generated;
+
+    @Label("Duplicates")
+    long duplicates;
+
+    @Label("Reopened")
+    long reopened;
+
+    @Label("Peak Open")
+    int peakOpen;
+
+    @Label("Path Length")
+    int pathLength;
+
+    @Label("Total Cost")
+    double totalCost;
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public void setFoundSolution(boolean foundSolution) {
+        this.foundSolution = foundSolution;
+    }
+
+    public void setStatesVisited(int statesVisited) {
+        this.statesVisited = statesVisited;
+    }
+
+    public void setMetrics(SearchMetrics metrics) {
+        this.generated = metrics.getGenerated();
+        this.duplicates = metrics.getDuplicates();
+        this.reopened = metrics.getReopened();
+        this.peakOpen = metrics.getPeakOpen();
+    }
+
+    public void setPathLength(int pathLength) {
+        this.pathLength = pathLength;
+    }
+
+    public void setTotalCost(double totalCost) {
+        this.totalCost = totalCost;
+    }
+}
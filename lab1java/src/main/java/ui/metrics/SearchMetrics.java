@@ -0,0 +1,140 @@
+package ui.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Counters one search collects while it runs, plus the time and allocation of each {@link Phase} of the run.
+ *
+ * <p>A node is generated whenever a successor is put into open, or replaces the node of its state there. A duplicate
+ * is a successor dropped because its state was already closed or had a node at most as expensive, and a reopening a
+ * closed state put back into open with a cheaper path. Algorithms that do not count leave these at 0.
+ *
+ * <p>Phases can nest, so the time of {@link Phase#SEARCH} includes the {@link Phase#PATH_RECONSTRUCTION} inside it.
+ * Allocation is measured per thread with {@code com.sun.management.ThreadMXBean} and is {@code -1} on JVMs without
+ * it.
+ */
+public final class SearchMetrics {
+
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private long generated;
+
+    private long duplicates;
+
+    private long reopened;
+
+    private int peakOpen;
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    private final long[] phaseBytes = new long[Phase.values().length];
+
+    public SearchMetrics() {
+        Arrays.fill(phaseBytes, -1);
+    }
+
+    public void generated() {
+        generated++;
+    }
+
+    public void duplicate() {
+        duplicates++;
+    }
+
+    public void reopened() {
+        reopened++;
+    }
+
+    /**
+     * Records the current size of open, keeping the largest.
+     */
+    public void open(int size) {
+        if (size > peakOpen) {
+            peakOpen = size;
+        }
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getReopened() {
+        return reopened;
+    }
+
+    public int getPeakOpen() {
+        return peakOpen;
+    }
+
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getAllocatedBytes(Phase phase) {
+        return phaseBytes[phase.ordinal()];
+    }
+
+    /**
+     * Adds the counters, times and allocation of {@code other} to these, keeping the larger peak.
+     */
+    public void add(SearchMetrics other) {
+        generated += other.generated;
+        duplicates += other.duplicates;
+        reopened += other.reopened;
+        peakOpen = Math.max(peakOpen, other.peakOpen);
+        for (var i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] += other.phaseNanos[i];
+            addBytes(i, other.phaseBytes[i]);
+        }
+    }
+
+    /**
+     * Runs {@code body} as one run of {@code phase} on the current thread, recording its time and allocation here and
+     * as a {@link PhaseEvent}.
+     */
+    public <T> T time(Phase phase, Supplier<T> body) {
+        final var event = new PhaseEvent(phase);
+        event.begin();
+        final var bytes = allocatedBytes();
+        final var start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            phaseNanos[phase.ordinal()] += System.nanoTime() - start;
+            addBytes(phase.ordinal(), bytes < 0 ? -1 : allocatedBytes() - bytes);
+            event.commit();
+        }
+    }
+
+    public void run(Phase phase, Runnable body) {
+        time(phase, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private void addBytes(int phase, long bytes) {
+        if (bytes >= 0) {
+            phaseBytes[phase] = Math.max(phaseBytes[phase], 0) + bytes;
+        }
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or {@code -1} if the JVM does not report it.
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            final var threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,443 @@
+package ui.model;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+
+/**
+ * State space stored in compressed sparse row (CSR) form. The states and edges are fixed once built; only edge costs
+ * and heuristic values can be changed.
+ *
+ * <p>States are identified by ints in {@code [0, size())}. Ids are assigned in the lexicographic order of state names,
+ * so comparing ids gives the same order as comparing names and a name is found by binary search. The successors of
+ * state {@code s} are the edges {@code [edgeStart(s), edgeEnd(s))}, sorted by target id, with the target and cost of
+ * edge {@code e} given by {@link #getTarget(int)} and {@link #getCost(int)}.
+ */
+public final class CompactGraph {
+
+    private final String[] names;
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    private final double[] costs;
+
+    private final int startState;
+
+    private final int[] endStates;
+
+    private final BitSet endStateSet;
+
+    private final double[] heuristicValues;
+
+    private volatile CompactGraph reverse;
+
+    private CompactGraph(
+        String[] names,
+        int[] offsets,
+        int[] targets,
+        double[] costs,
+        int startState,
+        int[] endStates,
+        double[] heuristicValues
+    ) {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        this.startState = startState;
+        this.endStates = endStates;
+        this.endStateSet = new BitSet(names.length);
+        for (final var endState : endStates) {
+            endStateSet.set(endState);
+        }
+        this.heuristicValues = heuristicValues;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public String getName(int state) {
+        return names[state];
+    }
+
+    public OptionalInt getStateId(String name) {
+        final var id = Arrays.binarySearch(names, name);
+        return id < 0 ? OptionalInt.empty() : OptionalInt.of(id);
+    }
+
+    public int getStartState() {
+        return startState;
+    }
+
+    public int[] getEndStates() {
+        return endStates.clone();
+    }
+
+    /**
+     * Tests goal membership against a bitset over state ids built with the graph, so the cost does not depend on the
+     * number of end states.
+     */
+    public boolean isEndState(int state) {
+        return endStateSet.get(state);
+    }
+
+    /**
+     * Returns whether a state that passes {@code goal} can be reached from {@code s0}, by one breadth-first pass over
+     * the edges.
+     */
+    public boolean canReach(int s0, IntPredicate goal) {
+        final var queue = new int[size()];
+        final var seen = new BitSet(size());
+        var head = 0;
+        var tail = 0;
+        queue[tail++] = s0;
+        seen.set(s0);
+        while (head < tail) {
+            final var state = queue[head++];
+            if (goal.test(state)) {
+                return true;
+            }
+            for (var e = offsets[state]; e < offsets[state + 1]; e++) {
+                if (!seen.get(targets[e])) {
+                    seen.set(targets[e]);
+                    queue[tail++] = targets[e];
+                }
+            }
+        }
+        return false;
+    }
+
+    public int edgeStart(int state) {
+        return offsets[state];
+    }
+
+    public int edgeEnd(int state) {
+        return offsets[state + 1];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double getCost(int edge) {
+        return costs[edge];
+    }
+
+    /**
+     * Returns the cost of the edge {@code from -> to}, looked up by binary search over the successors of
+     * {@code from}.
+     */
+    public double getCost(int from, int to) {
+        return costs[edge(from, to)];
+    }
+
+    /**
+     * Returns the id of the edge {@code from -> to}, so it can be passed to {@link #getTarget(int)} and
+     * {@link #getCost(int)}.
+     */
+    public int edge(int from, int to) {
+        final var edge = Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to);
+        if (edge < 0) {
+            throw new IllegalArgumentException("No edge " + names[from] + " -> " + names[to]);
+        }
+        return edge;
+    }
+
+    /**
+     * Changes the cost of the existing edge {@code from -> to}, in the reverse graph as well if it was already built.
+     * Searches running on the graph at the same time may see either cost.
+     */
+    public void setCost(int from, int to, double cost) {
+        costs[edge(from, to)] = cost;
+        final var transposed = reverse;
+        if (transposed != null) {
+            transposed.costs[transposed.edge(to, from)] = cost;
+        }
+    }
+
+    public double getHeuristicValue(int state) {
+        return heuristicValues[state];
+    }
+
+    public void setHeuristicValue(int state, double heuristicValue) {
+        heuristicValues[state] = heuristicValue;
+    }
+
+    public double[] getHeuristicValues() {
+        return heuristicValues.clone();
+    }
+
+    public void setHeuristicValues(double[] heuristicValues) {
+        System.arraycopy(heuristicValues, 0, this.heuristicValues, 0, this.heuristicValues.length);
+    }
+
+    /**
+     * Returns the graph with every edge reversed, sharing state ids, names, start and end states and heuristic values
+     * with this one.
+     * The reverse is built on first use and cached.
+     */
+    public CompactGraph reverse() {
+        var result = reverse;
+        if (result == null) {
+            synchronized (this) {
+                result = reverse;
+                if (result == null) {
+                    result = transpose();
+                    result.reverse = this;
+                    reverse = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private CompactGraph transpose() {
+        final var n = names.length;
+        final var reverseOffsets = new int[n + 1];
+        for (final var target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (var s = 0; s < n; s++) {
+            reverseOffsets[s + 1] += reverseOffsets[s];
+        }
+
+        // sources are visited in increasing order, so every reversed row comes out sorted
+        final var reverseTargets = new int[targets.length];
+        final var reverseCosts = new double[costs.length];
+        final var fill = Arrays.copyOf(reverseOffsets, n);
+        for (var s = 0; s < n; s++) {
+            for (var e = offsets[s]; e < offsets[s + 1]; e++) {
+                final var i = fill[targets[e]]++;
+                reverseTargets[i] = s;
+                reverseCosts[i] = costs[e];
+            }
+        }
+
+        return new CompactGraph(
+            names, reverseOffsets, reverseTargets, reverseCosts, startState, endStates, heuristicValues
+        );
+    }
+
+    /**
+     * Writes the graph, including heuristic values, in the layout read by {@link #read(ByteBuffer)}.
+     */
+    public void write(DataOutput out) throws IOException {
+        final var n = names.length;
+        out.writeInt(n);
+        out.writeInt(targets.length);
+        out.writeInt(startState);
+        out.writeInt(endStates.length);
+        writeInts(out, endStates);
+        writeInts(out, offsets);
+        writeInts(out, targets);
+        writeDoubles(out, costs);
+        writeDoubles(out, heuristicValues);
+
+        final var encoded = new byte[n][];
+        for (var s = 0; s < n; s++) {
+            encoded[s] = names[s].getBytes(StandardCharsets.UTF_8);
+            out.writeInt(encoded[s].length);
+        }
+        for (final var name : encoded) {
+            out.write(name);
+        }
+    }
+
+    /**
+     * Reads a graph written by {@link #write(DataOutput)} from the buffer's current position, using bulk copies for
+     * the arrays.
+     */
+    public static CompactGraph read(ByteBuffer buffer) {
+        final var n = buffer.getInt();
+        final var m = buffer.getInt();
+        final var startState = buffer.getInt();
+        final var endStates = readInts(buffer, buffer.getInt());
+        final var offsets = readInts(buffer, n + 1);
+        final var targets = readInts(buffer, m);
+        final var costs = readDoubles(buffer, m);
+        final var heuristicValues = readDoubles(buffer, n);
+
+        final var lengths = readInts(buffer, n);
+        final var names = new String[n];
+        var bytes = new byte[64];
+        for (var s = 0; s < n; s++) {
+            if (lengths[s] > bytes.length) {
+                bytes = new byte[Math.max(lengths[s], bytes.length * 2)];
+            }
+            buffer.get(bytes, 0, lengths[s]);
+            names[s] = new String(bytes, 0, lengths[s], StandardCharsets.UTF_8);
+        }
+
+        return new CompactGraph(names, offsets, targets, costs, startState, endStates, heuristicValues);
+    }
+
+    private static void writeInts(DataOutput out, int[] values) throws IOException {
+        for (final var value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeDoubles(DataOutput out, double[] values) throws IOException {
+        for (final var value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int length) {
+        final var values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer, int length) {
+        final var values = new double[length];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + length * Double.BYTES);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactGraph{" +
+               "states=" + names.length +
+               ", edges=" + targets.length +
+               ", startState=" + (startState < 0 ? "null" : names[startState]) +
+               ", endStates=" + Arrays.stream(endStates).mapToObj(s -> names[s]).reduce((a, b) -> a + " " + b)
+                   .orElse("") +
+               '}';
+    }
+
+    /**
+     * Collects states and edges in any order and lays them out as a {@link CompactGraph}. Ids returned by
+     * {@link #addState(String)} are only valid inside the builder; {@link #build()} renumbers states by name.
+     * Repeated edges between the same pair of states keep the cost that was added last.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private final List<String> names = new ArrayList<>();
+
+        private int[] edgeSources = new int[16];
+
+        private int[] edgeTargets = new int[16];
+
+        private double[] edgeCosts = new double[16];
+
+        private int edgeCount;
+
+        private int startState = -1;
+
+        private final List<Integer> endStates = new ArrayList<>();
+
+        public int addState(String name) {
+            final var existing = ids.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            final var id = names.size();
+            ids.put(name, id);
+            names.add(name);
+            return id;
+        }
+
+        public Builder addEdge(int from, int to, double cost) {
+            if (edgeCount == edgeSources.length) {
+                final var capacity = edgeCount * 2;
+                edgeSources = Arrays.copyOf(edgeSources, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+                edgeCosts = Arrays.copyOf(edgeCosts, capacity);
+            }
+            edgeSources[edgeCount] = from;
+            edgeTargets[edgeCount] = to;
+            edgeCosts[edgeCount] = cost;
+            edgeCount++;
+            return this;
+        }
+
+        public Builder setStartState(int state) {
+            this.startState = state;
+            return this;
+        }
+
+        public Builder addEndState(int state) {
+            endStates.add(state);
+            return this;
+        }
+
+        public CompactGraph build() {
+            final var n = names.size();
+
+            final var sortedNames = names.toArray(new String[0]);
+            Arrays.sort(sortedNames);
+            final var renumber = new int[n];
+            for (var i = 0; i < n; i++) {
+                renumber[ids.get(sortedNames[i])] = i;
+            }
+
+            final var offsets = new int[n + 1];
+            for (var e = 0; e < edgeCount; e++) {
+                offsets[renumber[edgeSources[e]] + 1]++;
+            }
+            for (var s = 0; s < n; s++) {
+                offsets[s + 1] += offsets[s];
+            }
+
+            // bucket edges by source, each entry packs (target, insertion order) so sorting a row orders it by
+            // target and keeps repeated edges in the order they were added
+            final var keys = new long[edgeCount];
+            final var fill = Arrays.copyOf(offsets, n);
+            for (var e = 0; e < edgeCount; e++) {
+                keys[fill[renumber[edgeSources[e]]]++] = ((long) renumber[edgeTargets[e]] << 32) | e;
+            }
+
+            final var targets = new int[edgeCount];
+            final var costs = new double[edgeCount];
+            final var compacted = new int[n + 1];
+            var size = 0;
+            for (var s = 0; s < n; s++) {
+                compacted[s] = size;
+                Arrays.sort(keys, offsets[s], offsets[s + 1]);
+                for (var i = offsets[s]; i < offsets[s + 1]; i++) {
+                    final var target = (int) (keys[i] >>> 32);
+                    final var edge = (int) keys[i];
+                    if (size > compacted[s] && targets[size - 1] == target) {
+                        costs[size - 1] = edgeCosts[edge];
+                        continue;
+                    }
+                    targets[size] = target;
+                    costs[size] = edgeCosts[edge];
+                    size++;
+                }
+            }
+            compacted[n] = size;
+
+            return new CompactGraph(
+                sortedNames,
+                compacted,
+                Arrays.copyOf(targets, size),
+                Arrays.copyOf(costs, size),
+                startState < 0 ? -1 : renumber[startState],
+                endStates.stream().mapToInt(s -> renumber[s]).toArray(),
+                new double[n]
+            );
+        }
+    }
+}
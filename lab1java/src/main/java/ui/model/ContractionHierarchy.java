@@ -0,0 +1,572 @@
+package ui.model;
+
+import ui.util.IndexedMinHeap;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Contraction hierarchy over a {@link CompactGraph}, for shortest path queries that only search upwards.
+ *
+ * <p>States are contracted one by one in order of importance. Contracting a state adds a shortcut {@code u -> w} for
+ * every path {@code u -> v -> w} through it that is not matched by a witness path around it, so distances between
+ * the remaining states are preserved. Every edge, original or shortcut, ends up in one of two upward graphs: the
+ * forward one from its source if its target was contracted later, and the backward one from its target otherwise. A
+ * query then runs Dijkstra forward from the start and backward from the goals over these alone.
+ *
+ * <p>On graphs that do not look like road networks the last states to be contracted tend to form a dense core where
+ * nearly every contraction adds shortcuts between all of its neighbours. Contraction therefore stops once the next
+ * state has too many remaining edges; the rest keep their order in the queue as ranks and the edges between them go
+ * into both upward graphs.
+ *
+ * <p>A shortcut remembers the two edges it replaces, so {@link #unpack(int, IntConsumer)} expands it back into
+ * edges of the original graph.
+ */
+public final class ContractionHierarchy {
+
+    private static final int NONE = -1;
+
+    // states settled by one witness search before giving up and adding the shortcut anyway
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+
+    // contraction stops at the first state with more remaining edges than this
+    private static final int CORE_DEGREE = 64;
+
+    private final int size;
+
+    private final int[] ranks;
+
+    private final int[] sources;
+
+    private final int[] targets;
+
+    private final double[] costs;
+
+    private final int[] firstEdges;
+
+    private final int[] secondEdges;
+
+    private final int[] forwardOffsets;
+
+    private final int[] forwardEdges;
+
+    private final int[] backwardOffsets;
+
+    private final int[] backwardEdges;
+
+    private ContractionHierarchy(
+        int size,
+        int[] ranks,
+        int[] sources,
+        int[] targets,
+        double[] costs,
+        int[] firstEdges,
+        int[] secondEdges,
+        int[] forwardOffsets,
+        int[] forwardEdges,
+        int[] backwardOffsets,
+        int[] backwardEdges
+    ) {
+        this.size = size;
+        this.ranks = ranks;
+        this.sources = sources;
+        this.targets = targets;
+        this.costs = costs;
+        this.firstEdges = firstEdges;
+        this.secondEdges = secondEdges;
+        this.forwardOffsets = forwardOffsets;
+        this.forwardEdges = forwardEdges;
+        this.backwardOffsets = backwardOffsets;
+        this.backwardEdges = backwardEdges;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getRank(int state) {
+        return ranks[state];
+    }
+
+    public int getEdgeCount() {
+        return sources.length;
+    }
+
+    public int getShortcutCount() {
+        var count = 0;
+        for (final var first : firstEdges) {
+            if (first != NONE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Upward edges leaving {@code state} are {@code getForwardEdge(i)} for {@code i} in
+     * {@code [forwardStart(state), forwardEnd(state))}.
+     */
+    public int forwardStart(int state) {
+        return forwardOffsets[state];
+    }
+
+    public int forwardEnd(int state) {
+        return forwardOffsets[state + 1];
+    }
+
+    public int getForwardEdge(int i) {
+        return forwardEdges[i];
+    }
+
+    /**
+     * Edges entering {@code state} from a state contracted later are {@code getBackwardEdge(i)} for {@code i} in
+     * {@code [backwardStart(state), backwardEnd(state))}.
+     */
+    public int backwardStart(int state) {
+        return backwardOffsets[state];
+    }
+
+    public int backwardEnd(int state) {
+        return backwardOffsets[state + 1];
+    }
+
+    public int getBackwardEdge(int i) {
+        return backwardEdges[i];
+    }
+
+    public int getSource(int edge) {
+        return sources[edge];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double getCost(int edge) {
+        return costs[edge];
+    }
+
+    /**
+     * Passes the targets of the original edges that {@code edge} stands for to {@code consumer}, in path order.
+     */
+    public void unpack(int edge, IntConsumer consumer) {
+        var stack = new int[16];
+        var top = 0;
+        stack[top++] = edge;
+        while (top > 0) {
+            final var e = stack[--top];
+            if (firstEdges[e] == NONE) {
+                consumer.accept(targets[e]);
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = secondEdges[e];
+            stack[top++] = firstEdges[e];
+        }
+    }
+
+    public static ContractionHierarchy build(CompactGraph graph) {
+        return new Contraction(graph).run();
+    }
+
+    /**
+     * Writes the hierarchy in the layout read by {@link #read(ByteBuffer)}.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(sources.length);
+        writeInts(out, ranks);
+        writeInts(out, sources);
+        writeInts(out, targets);
+        for (final var cost : costs) {
+            out.writeDouble(cost);
+        }
+        writeInts(out, firstEdges);
+        writeInts(out, secondEdges);
+        writeInts(out, forwardOffsets);
+        writeInts(out, forwardEdges);
+        writeInts(out, backwardOffsets);
+        writeInts(out, backwardEdges);
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write(DataOutput)} from the buffer's current position.
+     */
+    public static ContractionHierarchy read(ByteBuffer buffer) {
+        final var size = buffer.getInt();
+        final var edges = buffer.getInt();
+        final var ranks = readInts(buffer, size);
+        final var sources = readInts(buffer, edges);
+        final var targets = readInts(buffer, edges);
+        final var costs = new double[edges];
+        buffer.asDoubleBuffer().get(costs);
+        buffer.position(buffer.position() + edges * Double.BYTES);
+        final var firstEdges = readInts(buffer, edges);
+        final var secondEdges = readInts(buffer, edges);
+        final var forwardOffsets = readInts(buffer, size + 1);
+        final var forwardEdges = readInts(buffer, forwardOffsets[size]);
+        final var backwardOffsets = readInts(buffer, size + 1);
+        final var backwardEdges = readInts(buffer, backwardOffsets[size]);
+        return new ContractionHierarchy(
+            size, ranks, sources, targets, costs, firstEdges, secondEdges,
+            forwardOffsets, forwardEdges, backwardOffsets, backwardEdges
+        );
+    }
+
+    private static void writeInts(DataOutput out, int[] values) throws IOException {
+        for (final var value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int length) {
+        final var values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    /**
+     * State of one contraction. Edges live in growable parallel arrays and every state keeps the ids of its current
+     * outgoing and incoming edges; when a shortcut replaces a more expensive edge, the old one only leaves these
+     * lists, since other shortcuts may still unpack through it.
+     */
+    private static final class Contraction {
+
+        private final int n;
+
+        private int[] sources = new int[16];
+
+        private int[] targets = new int[16];
+
+        private double[] costs = new double[16];
+
+        private int[] firstEdges = new int[16];
+
+        private int[] secondEdges = new int[16];
+
+        private int edgeCount;
+
+        private final int[][] outgoing;
+
+        private final int[] outgoingSizes;
+
+        private final int[][] incoming;
+
+        private final int[] incomingSizes;
+
+        private final boolean[] contracted;
+
+        private final int[] contractedNeighbours;
+
+        // witness search workspace, reset through the list of touched states
+        private final double[] distances;
+
+        private final int[] touched;
+
+        private int touchedSize;
+
+        private final IndexedMinHeap witnessOpen;
+
+        private Contraction(CompactGraph graph) {
+            this.n = graph.size();
+            this.outgoing = new int[n][];
+            this.outgoingSizes = new int[n];
+            this.incoming = new int[n][];
+            this.incomingSizes = new int[n];
+            this.contracted = new boolean[n];
+            this.contractedNeighbours = new int[n];
+            this.distances = new double[n];
+            this.touched = new int[n];
+            this.witnessOpen = new IndexedMinHeap(n);
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            for (var s = 0; s < n; s++) {
+                outgoing[s] = new int[4];
+                incoming[s] = new int[4];
+            }
+            for (var s = 0; s < n; s++) {
+                for (var e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                    if (graph.getTarget(e) != s) {
+                        link(addEdge(s, graph.getTarget(e), graph.getCost(e), NONE, NONE));
+                    }
+                }
+            }
+        }
+
+        private ContractionHierarchy run() {
+            final var order = new IndexedMinHeap(n);
+            for (var v = 0; v < n; v++) {
+                order.add(v, priority(v));
+            }
+
+            final var ranks = new int[n];
+            var rank = 0;
+            while (!order.isEmpty()) {
+                final var v = order.remove();
+                final var current = priority(v);
+                if (!order.isEmpty() && current > order.getKey(order.peek())) {
+                    // priorities are only refreshed when they come up, so one that went stale goes back in
+                    order.add(v, current);
+                    continue;
+                }
+                if (degree(v) > CORE_DEGREE) {
+                    // the rest is dense enough that contracting it would mostly add shortcuts, so it stays a core
+                    ranks[v] = rank++;
+                    while (!order.isEmpty()) {
+                        ranks[order.remove()] = rank++;
+                    }
+                    return upward(ranks, v);
+                }
+                contract(v);
+                ranks[v] = rank++;
+            }
+
+            return upward(ranks, NONE);
+        }
+
+        /**
+         * Edge difference plus the number of already contracted neighbours, which spreads contraction evenly.
+         */
+        private double priority(int v) {
+            return contract(v, false) - degree(v) + contractedNeighbours[v];
+        }
+
+        /**
+         * Number of edges between {@code v} and states that are not contracted yet.
+         */
+        private int degree(int v) {
+            var edges = 0;
+            for (var i = 0; i < outgoingSizes[v]; i++) {
+                if (!contracted[targets[outgoing[v][i]]]) {
+                    edges++;
+                }
+            }
+            for (var i = 0; i < incomingSizes[v]; i++) {
+                if (!contracted[sources[incoming[v][i]]]) {
+                    edges++;
+                }
+            }
+            return edges;
+        }
+
+        private void contract(int v) {
+            contract(v, true);
+            contracted[v] = true;
+            for (var i = 0; i < outgoingSizes[v]; i++) {
+                contractedNeighbours[targets[outgoing[v][i]]]++;
+            }
+            for (var i = 0; i < incomingSizes[v]; i++) {
+                contractedNeighbours[sources[incoming[v][i]]]++;
+            }
+        }
+
+        /**
+         * Finds the shortcuts needed to contract {@code v} and adds them if {@code add} is set. Returns their number.
+         */
+        private int contract(int v, boolean add) {
+            var shortcuts = 0;
+            for (var i = 0; i < incomingSizes[v]; i++) {
+                final var in = incoming[v][i];
+                final var u = sources[in];
+                if (contracted[u]) {
+                    continue;
+                }
+
+                var limit = 0.0;
+                for (var j = 0; j < outgoingSizes[v]; j++) {
+                    final var out = outgoing[v][j];
+                    if (!contracted[targets[out]] && targets[out] != u) {
+                        limit = Math.max(limit, costs[in] + costs[out]);
+                    }
+                }
+                witnessSearch(u, v, limit);
+
+                for (var j = 0; j < outgoingSizes[v]; j++) {
+                    final var out = outgoing[v][j];
+                    final var w = targets[out];
+                    if (contracted[w] || w == u) {
+                        continue;
+                    }
+                    final var cost = costs[in] + costs[out];
+                    if (distances[w] <= cost) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (add) {
+                        addShortcut(u, w, cost, in, out);
+                    }
+                }
+                resetWitnessSearch();
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra from {@code u} over uncontracted states other than {@code v}, up to {@code limit} and
+         * {@link #WITNESS_SETTLE_LIMIT} settled states. Distances it did not settle are only upper bounds, which is
+         * safe: a missed witness only costs an unnecessary shortcut.
+         */
+        private void witnessSearch(int u, int v, double limit) {
+            distances[u] = 0.0;
+            touched[touchedSize++] = u;
+            witnessOpen.add(u, 0.0);
+            var settled = 0;
+            while (!witnessOpen.isEmpty() && settled++ < WITNESS_SETTLE_LIMIT) {
+                final var x = witnessOpen.remove();
+                if (distances[x] > limit) {
+                    break;
+                }
+                for (var i = 0; i < outgoingSizes[x]; i++) {
+                    final var e = outgoing[x][i];
+                    final var y = targets[e];
+                    if (y == v || contracted[y]) {
+                        continue;
+                    }
+                    final var distance = distances[x] + costs[e];
+                    if (distance >= distances[y]) {
+                        continue;
+                    }
+                    if (distances[y] == Double.POSITIVE_INFINITY) {
+                        touched[touchedSize++] = y;
+                    }
+                    distances[y] = distance;
+                    if (witnessOpen.contains(y)) {
+                        witnessOpen.decreaseKey(y, distance);
+                    } else {
+                        witnessOpen.add(y, distance);
+                    }
+                }
+            }
+        }
+
+        private void resetWitnessSearch() {
+            witnessOpen.clear();
+            for (var i = 0; i < touchedSize; i++) {
+                distances[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedSize = 0;
+        }
+
+        private void addShortcut(int u, int w, double cost, int first, int second) {
+            for (var i = 0; i < outgoingSizes[u]; i++) {
+                final var existing = outgoing[u][i];
+                if (targets[existing] != w) {
+                    continue;
+                }
+                if (costs[existing] <= cost) {
+                    return;
+                }
+                unlink(existing);
+                break;
+            }
+            link(addEdge(u, w, cost, first, second));
+        }
+
+        private int addEdge(int source, int target, double cost, int first, int second) {
+            if (edgeCount == sources.length) {
+                final var capacity = edgeCount * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+                firstEdges = Arrays.copyOf(firstEdges, capacity);
+                secondEdges = Arrays.copyOf(secondEdges, capacity);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            costs[edgeCount] = cost;
+            firstEdges[edgeCount] = first;
+            secondEdges[edgeCount] = second;
+            return edgeCount++;
+        }
+
+        private void link(int edge) {
+            final var source = sources[edge];
+            final var target = targets[edge];
+            if (outgoingSizes[source] == outgoing[source].length) {
+                outgoing[source] = Arrays.copyOf(outgoing[source], outgoingSizes[source] * 2);
+            }
+            outgoing[source][outgoingSizes[source]++] = edge;
+            if (incomingSizes[target] == incoming[target].length) {
+                incoming[target] = Arrays.copyOf(incoming[target], incomingSizes[target] * 2);
+            }
+            incoming[target][incomingSizes[target]++] = edge;
+        }
+
+        private void unlink(int edge) {
+            remove(outgoing[sources[edge]], outgoingSizes, sources[edge], edge);
+            remove(incoming[targets[edge]], incomingSizes, targets[edge], edge);
+        }
+
+        private static void remove(int[] edges, int[] sizes, int state, int edge) {
+            for (var i = 0; i < sizes[state]; i++) {
+                if (edges[i] == edge) {
+                    edges[i] = edges[--sizes[state]];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Splits the current edges into the forward and backward upward graphs, each in CSR form. Edges between two
+         * states of the uncontracted core, the states ranked from {@code core} on, go into both, so the two searches
+         * can move freely inside it.
+         */
+        private ContractionHierarchy upward(int[] ranks, int core) {
+            final var coreRank = core == NONE ? n : ranks[core];
+            final var forwardOffsets = new int[n + 1];
+            final var backwardOffsets = new int[n + 1];
+            for (var s = 0; s < n; s++) {
+                for (var i = 0; i < outgoingSizes[s]; i++) {
+                    final var e = outgoing[s][i];
+                    final var t = targets[e];
+                    if (ranks[t] > ranks[s] || ranks[s] >= coreRank && ranks[t] >= coreRank) {
+                        forwardOffsets[s + 1]++;
+                    }
+                    if (ranks[t] < ranks[s] || ranks[s] >= coreRank && ranks[t] >= coreRank) {
+                        backwardOffsets[t + 1]++;
+                    }
+                }
+            }
+            for (var s = 0; s < n; s++) {
+                forwardOffsets[s + 1] += forwardOffsets[s];
+                backwardOffsets[s + 1] += backwardOffsets[s];
+            }
+
+            final var forwardEdges = new int[forwardOffsets[n]];
+            final var backwardEdges = new int[backwardOffsets[n]];
+            final var forwardFill = Arrays.copyOf(forwardOffsets, n);
+            final var backwardFill = Arrays.copyOf(backwardOffsets, n);
+            for (var s = 0; s < n; s++) {
+                for (var i = 0; i < outgoingSizes[s]; i++) {
+                    final var e = outgoing[s][i];
+                    final var t = targets[e];
+                    if (ranks[t] > ranks[s] || ranks[s] >= coreRank && ranks[t] >= coreRank) {
+                        forwardEdges[forwardFill[s]++] = e;
+                    }
+                    if (ranks[t] < ranks[s] || ranks[s] >= coreRank && ranks[t] >= coreRank) {
+                        backwardEdges[backwardFill[t]++] = e;
+                    }
+                }
+            }
+
+            return new ContractionHierarchy(
+                n,
+                ranks,
+                Arrays.copyOf(sources, edgeCount),
+                Arrays.copyOf(targets, edgeCount),
+                Arrays.copyOf(costs, edgeCount),
+                Arrays.copyOf(firstEdges, edgeCount),
+                Arrays.copyOf(secondEdges, edgeCount),
+                forwardOffsets,
+                forwardEdges,
+                backwardOffsets,
+                backwardEdges
+            );
+        }
+    }
+}
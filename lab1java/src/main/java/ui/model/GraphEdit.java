@@ -0,0 +1,38 @@
+package ui.model;
+
+/**
+ * One change to a {@link CompactGraph}: a new cost for the edge {@code from -> to}, or a new heuristic value for
+ * {@code from} if {@code to} is {@code -1}. States are {@link CompactGraph} ids.
+ */
+public class GraphEdit {
+
+    public static final int HEURISTIC = -1;
+
+    private final int from;
+
+    private final int to;
+
+    private final double value;
+
+    public GraphEdit(int from, int to, double value) {
+        this.from = from;
+        this.to = to;
+        this.value = value;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public boolean isHeuristic() {
+        return to == HEURISTIC;
+    }
+}
@@ -0,0 +1,64 @@
+package ui.model;
+
+import java.util.Arrays;
+
+/**
+ * Search tree nodes over a {@link ui.space.StateSpace}, like {@link SearchNodePool} but with states packed into
+ * longs.
+ */
+public final class PackedNodePool {
+
+    public static final int NONE = -1;
+
+    private long[] states = new long[16];
+
+    private int[] parents = new int[16];
+
+    private double[] g = new double[16];
+
+    private int size;
+
+    public int add(long state, int parent, double g) {
+        if (size == states.length) {
+            final var capacity = size * 2;
+            states = Arrays.copyOf(states, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            this.g = Arrays.copyOf(this.g, capacity);
+        }
+        states[size] = state;
+        parents[size] = parent;
+        this.g[size] = g;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getState(int node) {
+        return states[node];
+    }
+
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    public double getG(int node) {
+        return g[node];
+    }
+
+    /**
+     * Returns the states on the path from the root to {@code node}.
+     */
+    public long[] tracePath(int node) {
+        var length = 0;
+        for (var n = node; n != NONE; n = parents[n]) {
+            length++;
+        }
+        final var path = new long[length];
+        for (var n = node; n != NONE; n = parents[n]) {
+            path[--length] = states[n];
+        }
+        return path;
+    }
+}
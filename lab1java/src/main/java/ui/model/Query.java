@@ -0,0 +1,34 @@
+package ui.model;
+
+import java.util.BitSet;
+
+/**
+ * One search of a batch: a start state and a set of goal states by {@link CompactGraph} id, and the algorithm to run.
+ * The start state is {@code -1} if its name is not in the graph.
+ */
+public class Query {
+
+    private final int startState;
+
+    private final BitSet endStates;
+
+    private final String algorithm;
+
+    public Query(int startState, BitSet endStates, String algorithm) {
+        this.startState = startState;
+        this.endStates = endStates;
+        this.algorithm = algorithm;
+    }
+
+    public int getStartState() {
+        return startState;
+    }
+
+    public boolean isEndState(int state) {
+        return endStates.get(state);
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+}
@@ -0,0 +1,82 @@
+package ui.model;
+
+import java.util.Arrays;
+
+/**
+ * Search tree nodes over a {@link CompactGraph}, stored as parallel primitive arrays instead of objects.
+ *
+ * <p>A node is the index returned by {@link #add(int, int, double, double)}; its parent is another index or
+ * {@link #NONE} for the root. The arrays grow by doubling, so a search allocates only when it outgrows them.
+ */
+public final class SearchNodePool {
+
+    public static final int NONE = -1;
+
+    private int[] states;
+
+    private int[] parents;
+
+    private double[] g;
+
+    private double[] f;
+
+    private int size;
+
+    public SearchNodePool(int capacity) {
+        capacity = Math.max(capacity, 16);
+        this.states = new int[capacity];
+        this.parents = new int[capacity];
+        this.g = new double[capacity];
+        this.f = new double[capacity];
+    }
+
+    public int add(int state, int parent, double g, double f) {
+        if (size == states.length) {
+            final var capacity = size * 2;
+            states = Arrays.copyOf(states, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            this.g = Arrays.copyOf(this.g, capacity);
+            this.f = Arrays.copyOf(this.f, capacity);
+        }
+        states[size] = state;
+        parents[size] = parent;
+        this.g[size] = g;
+        this.f[size] = f;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getState(int node) {
+        return states[node];
+    }
+
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    public double getG(int node) {
+        return g[node];
+    }
+
+    public double getF(int node) {
+        return f[node];
+    }
+
+    /**
+     * Returns the states on the path from the root to {@code node}.
+     */
+    public int[] tracePath(int node) {
+        var length = 0;
+        for (var n = node; n != NONE; n = parents[n]) {
+            length++;
+        }
+        final var path = new int[length];
+        for (var n = node; n != NONE; n = parents[n]) {
+            path[--length] = states[n];
+        }
+        return path;
+    }
+}
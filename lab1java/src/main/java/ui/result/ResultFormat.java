@@ -0,0 +1,169 @@
+package ui.result;
+
+import ui.metrics.Phase;
+import ui.metrics.SearchMetrics;
+
+import java.util.Locale;
+
+/**
+ * Ways of printing a {@link SearchResult}: the text blocks of {@link SearchResult#toString()}, or one JSON object or
+ * CSV row per result with the search metrics included. Results without metrics get zero counters and {@code -1}
+ * phase times.
+ */
+public enum ResultFormat {
+    TEXT {
+        @Override
+        public String header() {
+            return null;
+        }
+
+        @Override
+        public String format(SearchResult result) {
+            return result.toString();
+        }
+
+        @Override
+        public void write(ResultWriter out, SearchResult result) {
+            result.write(out);
+            out.println();
+        }
+    },
+    JSON {
+        @Override
+        public String header() {
+            return null;
+        }
+
+        @Override
+        public String format(SearchResult result) {
+            final var metrics = metrics(result);
+            final var json = new StringBuilder(256)
+                .append("{\"algorithm\":");
+            string(json, String.valueOf(result.getAlgorithm()).toUpperCase(Locale.ROOT));
+            json.append(",\"found_solution\":").append(result.isFoundSolution())
+                .append(",\"states_visited\":").append(result.getStatesVisited());
+            if (result.getPeakMemory() >= 0) {
+                json.append(",\"peak_memory\":").append(result.getPeakMemory());
+            }
+            if (result.getSuboptimalityBound() >= 0) {
+                json.append(",\"suboptimality_bound\":").append(
+                    Double.isInfinite(result.getSuboptimalityBound()) ? "null" : result.getSuboptimalityBound()
+                );
+            }
+            json.append(",\"path_length\":").append(result.getPathLength())
+                .append(",\"total_cost\":").append(result.getTotalCost())
+                .append(",\"generated\":").append(metrics.getGenerated())
+                .append(",\"duplicates\":").append(metrics.getDuplicates())
+                .append(",\"reopened\":").append(metrics.getReopened())
+                .append(",\"peak_open\":").append(metrics.getPeakOpen())
+                .append(",\"phases\":{");
+            for (final var phase : Phase.values()) {
+                if (phase.ordinal() > 0) {
+                    json.append(',');
+                }
+                json.append('"').append(phase.getLabel()).append("\":{\"nanos\":").append(nanos(result, phase))
+                    .append(",\"allocated_bytes\":").append(bytes(result, phase)).append('}');
+            }
+            json.append("},\"path\":[");
+            for (var i = 0; i < result.getPath().size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                string(json, result.getPath().get(i));
+            }
+            return json.append("]}").toString();
+        }
+
+        private void string(StringBuilder json, String value) {
+            json.append('"');
+            for (var i = 0; i < value.length(); i++) {
+                final var c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        }
+    },
+    CSV {
+        @Override
+        public String header() {
+            final var header = new StringBuilder(
+                "algorithm,found_solution,states_visited,peak_memory,suboptimality_bound,path_length,total_cost,"
+                + "generated,duplicates,reopened,peak_open"
+            );
+            for (final var phase : Phase.values()) {
+                header.append(',').append(phase.getLabel()).append("_nanos");
+                header.append(',').append(phase.getLabel()).append("_allocated_bytes");
+            }
+            return header.append(",path").toString();
+        }
+
+        @Override
+        public String format(SearchResult result) {
+            final var metrics = metrics(result);
+            final var row = new StringBuilder(256);
+            field(row, String.valueOf(result.getAlgorithm()).toUpperCase(Locale.ROOT));
+            row.append(',').append(result.isFoundSolution())
+                .append(',').append(result.getStatesVisited())
+                .append(',').append(result.getPeakMemory())
+                .append(',').append(result.getSuboptimalityBound())
+                .append(',').append(result.getPathLength())
+                .append(',').append(result.getTotalCost())
+                .append(',').append(metrics.getGenerated())
+                .append(',').append(metrics.getDuplicates())
+                .append(',').append(metrics.getReopened())
+                .append(',').append(metrics.getPeakOpen());
+            for (final var phase : Phase.values()) {
+                row.append(',').append(nanos(result, phase)).append(',').append(bytes(result, phase));
+            }
+            row.append(',');
+            field(row, String.join(" => ", result.getPath()));
+            return row.toString();
+        }
+
+        private void field(StringBuilder row, String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                row.append(value);
+                return;
+            }
+            row.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    };
+
+    private static final SearchMetrics NO_METRICS = new SearchMetrics();
+
+    /**
+     * Line printed once before the results, or {@code null} if there is none.
+     */
+    public abstract String header();
+
+    public abstract String format(SearchResult result);
+
+    /**
+     * Writes the result and a line break to {@code out}.
+     */
+    public void write(ResultWriter out, SearchResult result) {
+        out.println(format(result));
+    }
+
+    public static ResultFormat parse(String name) {
+        return name == null ? TEXT : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    private static SearchMetrics metrics(SearchResult result) {
+        return result.getMetrics() == null ? NO_METRICS : result.getMetrics();
+    }
+
+    private static long nanos(SearchResult result, Phase phase) {
+        return result.getMetrics() == null ? -1 : result.getMetrics().getNanos(phase);
+    }
+
+    private static long bytes(SearchResult result, Phase phase) {
+        return result.getMetrics() == null ? -1 : result.getMetrics().getAllocatedBytes(phase);
+    }
+}
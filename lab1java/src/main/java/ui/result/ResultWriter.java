@@ -0,0 +1,177 @@
+package ui.result;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered UTF-8 writer for search results and heuristic reports.
+ *
+ * <p>Text is encoded straight into one reused byte buffer, which goes to the underlying stream only when it is full
+ * or on {@link #flush()}, so printing a long path or a large report costs one pass over its characters and no
+ * per-line flushing. Numbers are written without going through {@link java.util.Formatter}.
+ */
+public final class ResultWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // largest magnitude below which every double with one decimal digit is printed from a long
+    private static final double FAST_LIMIT = 1e15;
+
+    private final OutputStream out;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int size;
+
+    public ResultWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public ResultWriter print(String s) {
+        final var length = s.length();
+        for (var i = 0; i < length; i++) {
+            final var c = s.charAt(i);
+            if (c >= 0x80) {
+                write(s.substring(i).getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            if (size == buffer.length) {
+                drain();
+            }
+            buffer[size++] = (byte) c;
+        }
+        return this;
+    }
+
+    public ResultWriter print(char c) {
+        return c < 0x80 ? write((byte) c) : print(String.valueOf(c));
+    }
+
+    public ResultWriter print(boolean b) {
+        return print(b ? "true" : "false");
+    }
+
+    public ResultWriter print(long value) {
+        if (value == Long.MIN_VALUE) {
+            return print(Long.toString(value));
+        }
+        if (buffer.length - size < 20) {
+            drain();
+        }
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        // digits come out last first, so they are written backwards and then reversed in place
+        final var start = size;
+        do {
+            buffer[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            final var digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+        return this;
+    }
+
+    public ResultWriter print(double value) {
+        return print(String.valueOf(value));
+    }
+
+    /**
+     * Writes {@code value} rounded half up to one decimal digit, as {@code String.format(Locale.US, "%.1f", value)}
+     * does.
+     */
+    public ResultWriter printOneDecimal(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return print(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+        }
+        final var tenths = value * 10.0;
+        if (Math.abs(value) < FAST_LIMIT && tenths == Math.rint(tenths) && tenths / 10.0 == value) {
+            final var scaled = (long) tenths;
+            if (scaled < 0 || scaled == 0 && Double.doubleToRawLongBits(value) < 0) {
+                write((byte) '-');
+            }
+            final var magnitude = Math.abs(scaled);
+            return print(magnitude / 10).write((byte) '.').write((byte) ('0' + magnitude % 10));
+        }
+        // like Formatter, round the shortest decimal that identifies the double rather than its exact value
+        final var rounded = new BigDecimal(Double.toString(value)).setScale(1, RoundingMode.HALF_UP);
+        if (value < 0 && rounded.signum() == 0) {
+            write((byte) '-');
+        }
+        return print(rounded.toPlainString());
+    }
+
+    public ResultWriter println() {
+        return write((byte) '\n');
+    }
+
+    public ResultWriter println(String s) {
+        return print(s).println();
+    }
+
+    public ResultWriter println(Object o) {
+        if (o instanceof SearchResult) {
+            ((SearchResult) o).write(this);
+            return println();
+        }
+        return println(String.valueOf(o));
+    }
+
+    public void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ResultWriter write(byte b) {
+        if (size == buffer.length) {
+            drain();
+        }
+        buffer[size++] = b;
+        return this;
+    }
+
+    private ResultWriter write(byte[] bytes) {
+        return write(bytes, 0, bytes.length);
+    }
+
+    private ResultWriter write(byte[] bytes, int offset, int length) {
+        if (length > buffer.length - size) {
+            drain();
+            if (length > buffer.length) {
+                try {
+                    out.write(bytes, offset, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return this;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+        return this;
+    }
+
+    private void drain() {
+        if (size == 0) {
+            return;
+        }
+        try {
+            out.write(buffer, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        size = 0;
+    }
+}
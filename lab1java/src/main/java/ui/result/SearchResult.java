@@ -1,9 +1,17 @@
 package ui.result;
 
-import ui.model.Node;
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+import ui.model.PackedNodePool;
+import ui.model.SearchNodePool;
+import ui.space.StateSpace;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class SearchResult {
 
@@ -17,51 +25,163 @@ public class SearchResult {
 
     private double totalCost;
 
-    private List<Node> path = new ArrayList<>();
+    private List<String> path = new ArrayList<>();
+
+    private int peakMemory = -1;
+
+    private double suboptimalityBound = -1;
+
+    private SearchMetrics metrics;
 
     public SearchResult() {
     }
 
-    public SearchResult(String algorithm, boolean foundSolution, int statesVisited, Node end) {
+    public SearchResult(
+        String algorithm,
+        boolean foundSolution,
+        int statesVisited,
+        CompactGraph graph,
+        SearchNodePool nodes,
+        int end
+    ) {
         this.algorithm = algorithm;
         this.foundSolution = foundSolution;
         this.statesVisited = statesVisited;
-        if (end == null) {
+        if (end == SearchNodePool.NONE) {
             return;
         }
-        this.path = end.tracePath();
+        this.path = Arrays.stream(nodes.tracePath(end)).mapToObj(graph::getName).collect(Collectors.toList());
         this.pathLength = path.size();
-        this.totalCost = sum();
+        this.totalCost = nodes.getG(end);
     }
 
-    private double sum() {
+    public SearchResult(String algorithm, boolean foundSolution, int statesVisited, CompactGraph graph, int[] path) {
+        this.algorithm = algorithm;
+        this.foundSolution = foundSolution;
+        this.statesVisited = statesVisited;
+        if (path == null) {
+            return;
+        }
+        this.path = Arrays.stream(path).mapToObj(graph::getName).collect(Collectors.toList());
+        this.pathLength = path.length;
         var sum = 0.0;
-        for (var i = 0; i < path.size(); i++) {
-            if (i == path.size() - 1) {
-                continue;
-            }
-            var node = path.get(i);
-            var next = path.get(i + 1);
-            sum += node.getConnectedNodeCost(next);
+        for (var i = 0; i < path.length - 1; i++) {
+            sum += graph.getCost(path[i], path[i + 1]);
+        }
+        this.totalCost = sum;
+    }
+
+    public SearchResult(
+        String algorithm,
+        boolean foundSolution,
+        int statesVisited,
+        StateSpace space,
+        PackedNodePool nodes,
+        int end
+    ) {
+        this.algorithm = algorithm;
+        this.foundSolution = foundSolution;
+        this.statesVisited = statesVisited;
+        if (end == PackedNodePool.NONE) {
+            return;
         }
-        return sum;
+        this.path = Arrays.stream(nodes.tracePath(end)).mapToObj(space::getName).collect(Collectors.toList());
+        this.pathLength = path.size();
+        this.totalCost = nodes.getG(end);
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public boolean isFoundSolution() {
+        return foundSolution;
+    }
+
+    public int getStatesVisited() {
+        return statesVisited;
+    }
+
+    public int getPathLength() {
+        return pathLength;
     }
 
     public double getTotalCost() {
         return totalCost;
     }
 
+    public List<String> getPath() {
+        return path;
+    }
+
+    public int getPeakMemory() {
+        return peakMemory;
+    }
+
+    public double getSuboptimalityBound() {
+        return suboptimalityBound;
+    }
+
+    /**
+     * Sets the factor the cost of the path is known to be within of the optimal one, reported by the anytime
+     * searches.
+     */
+    public void setSuboptimalityBound(double suboptimalityBound) {
+        this.suboptimalityBound = suboptimalityBound;
+    }
+
+    /**
+     * Counters and phase timings of the search, or {@code null} if the algorithm does not collect them.
+     */
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the largest number of search nodes held at once, reported by the memory-bounded searches.
+     */
+    public void setPeakMemory(int peakMemory) {
+        this.peakMemory = peakMemory;
+    }
+
+    /**
+     * Writes the text block of the result, without a final line break, streaming the path state by state.
+     */
+    public void write(ResultWriter out) {
+        out.print("# ").print(algorithm.toUpperCase())
+            .print("\n[FOUND_SOLUTION]: ").print(foundSolution ? "yes" : "no")
+            .print("\n[STATES_VISITED]: ").print(statesVisited);
+        if (peakMemory >= 0) {
+            out.print("\n[PEAK_MEMORY]: ").print(peakMemory).print(" nodes");
+        }
+        if (suboptimalityBound >= 0) {
+            out.print("\n[SUBOPTIMALITY_BOUND]: ").print(
+                Double.isInfinite(suboptimalityBound)
+                    ? "unknown"
+                    : String.valueOf(Math.round(suboptimalityBound * 1000.0) / 1000.0)
+            );
+        }
+        out.print("\n[PATH_LENGTH]: ").print(pathLength)
+            .print("\n[TOTAL_COST]: ").print(Math.round(totalCost * 10.0) / 10.0)
+            .print("\n[PATH]: ");
+        for (var i = 0; i < path.size(); i++) {
+            if (i > 0) {
+                out.print(" => ");
+            }
+            out.print(path.get(i));
+        }
+    }
+
     @Override
     public String toString() {
-        return "# " + algorithm.toUpperCase() +
-               "\n[FOUND_SOLUTION]: " + (foundSolution ? "yes" : "no") +
-               "\n[STATES_VISITED]: " + statesVisited +
-               "\n[PATH_LENGTH]: " + pathLength +
-               "\n[TOTAL_COST]: " + Math.round(totalCost * 10.0) / 10.0 +
-               "\n[PATH]: " +
-               path.stream()
-                   .map(Node::getId)
-                   .reduce((acc, s) -> acc.concat(" => " + s))
-                   .orElse("");
+        final var bytes = new ByteArrayOutputStream();
+        final var out = new ResultWriter(bytes);
+        write(out);
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
     }
 }
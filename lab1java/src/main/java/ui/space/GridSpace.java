@@ -0,0 +1,82 @@
+package ui.space;
+
+/**
+ * 4-connected grid from the top-left to the bottom-right cell with unit step costs. A state packs the row into the
+ * high and the column into the low 32 bits.
+ *
+ * <p>Blocked cells are derived from a hash of their coordinates instead of being stored, so grids with billions of
+ * cells cost nothing until they are searched. The heuristic is the Manhattan distance to the goal.
+ */
+public class GridSpace implements StateSpace {
+
+    private final int rows;
+
+    private final int columns;
+
+    private final int blockedPercent;
+
+    public GridSpace(int rows, int columns, int blockedPercent) {
+        this.rows = rows;
+        this.columns = columns;
+        this.blockedPercent = blockedPercent;
+    }
+
+    @Override
+    public long getStartState() {
+        return pack(0, 0);
+    }
+
+    @Override
+    public boolean isEndState(long state) {
+        return row(state) == rows - 1 && column(state) == columns - 1;
+    }
+
+    @Override
+    public void forEachSuccessor(long state, SuccessorConsumer consumer) {
+        final var row = row(state);
+        final var column = column(state);
+        if (row > 0 && isOpen(row - 1, column)) {
+            consumer.accept(pack(row - 1, column), 1.0);
+        }
+        if (row < rows - 1 && isOpen(row + 1, column)) {
+            consumer.accept(pack(row + 1, column), 1.0);
+        }
+        if (column > 0 && isOpen(row, column - 1)) {
+            consumer.accept(pack(row, column - 1), 1.0);
+        }
+        if (column < columns - 1 && isOpen(row, column + 1)) {
+            consumer.accept(pack(row, column + 1), 1.0);
+        }
+    }
+
+    @Override
+    public double getHeuristicValue(long state) {
+        return (rows - 1 - row(state)) + (columns - 1 - column(state));
+    }
+
+    @Override
+    public String getName(long state) {
+        return "r" + row(state) + "c" + column(state);
+    }
+
+    private boolean isOpen(int row, int column) {
+        if ((row == 0 && column == 0) || (row == rows - 1 && column == columns - 1)) {
+            return true;
+        }
+        var hash = ((long) row << 32 | column) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        return Math.floorMod(hash, 100) >= blockedPercent;
+    }
+
+    private static long pack(int row, int column) {
+        return (long) row << 32 | column;
+    }
+
+    private static int row(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int column(long state) {
+        return (int) state;
+    }
+}
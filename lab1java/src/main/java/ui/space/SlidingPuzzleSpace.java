@@ -0,0 +1,106 @@
+package ui.space;
+
+/**
+ * Sliding tile puzzle of up to 4x4 cells. A state packs the tile on every cell into 4 bits, cell 0 in the lowest
+ * ones, with 0 for the blank. The goal has the tiles in order with the blank last, and the heuristic is the sum of
+ * Manhattan distances of the tiles to their goal cells.
+ */
+public class SlidingPuzzleSpace implements StateSpace {
+
+    private static final int BITS = 4;
+
+    private static final long MASK = (1L << BITS) - 1;
+
+    private final int rows;
+
+    private final int columns;
+
+    private final long startState;
+
+    private final long endState;
+
+    public SlidingPuzzleSpace(int rows, int columns, int[] tiles) {
+        if (rows * columns > 16 || tiles.length != rows * columns) {
+            throw new IllegalArgumentException("Expected " + rows * columns + " tiles on at most 16 cells");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        var start = 0L;
+        var end = 0L;
+        for (var cell = 0; cell < tiles.length; cell++) {
+            start |= (long) tiles[cell] << (cell * BITS);
+            end |= (long) ((cell + 1) % tiles.length) << (cell * BITS);
+        }
+        this.startState = start;
+        this.endState = end;
+    }
+
+    @Override
+    public long getStartState() {
+        return startState;
+    }
+
+    @Override
+    public boolean isEndState(long state) {
+        return state == endState;
+    }
+
+    @Override
+    public void forEachSuccessor(long state, SuccessorConsumer consumer) {
+        var blank = 0;
+        while (tile(state, blank) != 0) {
+            blank++;
+        }
+        final var row = blank / columns;
+        final var column = blank % columns;
+        if (row > 0) {
+            consumer.accept(swap(state, blank, blank - columns), 1.0);
+        }
+        if (row < rows - 1) {
+            consumer.accept(swap(state, blank, blank + columns), 1.0);
+        }
+        if (column > 0) {
+            consumer.accept(swap(state, blank, blank - 1), 1.0);
+        }
+        if (column < columns - 1) {
+            consumer.accept(swap(state, blank, blank + 1), 1.0);
+        }
+    }
+
+    @Override
+    public double getHeuristicValue(long state) {
+        var distance = 0;
+        for (var cell = 0; cell < rows * columns; cell++) {
+            final var tile = tile(state, cell);
+            if (tile != 0) {
+                distance += Math.abs(cell / columns - (tile - 1) / columns)
+                    + Math.abs(cell % columns - (tile - 1) % columns);
+            }
+        }
+        return distance;
+    }
+
+    @Override
+    public String getName(long state) {
+        final var name = new StringBuilder();
+        for (var cell = 0; cell < rows * columns; cell++) {
+            if (cell > 0) {
+                name.append(cell % columns == 0 ? '|' : '_');
+            }
+            name.append(tile(state, cell));
+        }
+        return name.toString();
+    }
+
+    private static int tile(long state, int cell) {
+        return (int) (state >>> (cell * BITS) & MASK);
+    }
+
+    /**
+     * Moves the tile on {@code cell} into the blank on {@code blank}.
+     */
+    private static long swap(long state, int blank, int cell) {
+        final var tile = (long) tile(state, cell);
+        return state & ~(MASK << (cell * BITS)) | tile << (blank * BITS);
+    }
+}
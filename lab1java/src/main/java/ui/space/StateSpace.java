@@ -0,0 +1,27 @@
+package ui.space;
+
+/**
+ * State space whose states are packed into longs and whose successors are generated on demand, so it never has to
+ * be held in memory.
+ */
+public interface StateSpace {
+
+    long getStartState();
+
+    boolean isEndState(long state);
+
+    /**
+     * Passes every successor of {@code state} with the cost of reaching it to {@code consumer}.
+     */
+    void forEachSuccessor(long state, SuccessorConsumer consumer);
+
+    double getHeuristicValue(long state);
+
+    String getName(long state);
+
+    @FunctionalInterface
+    interface SuccessorConsumer {
+
+        void accept(long state, double cost);
+    }
+}
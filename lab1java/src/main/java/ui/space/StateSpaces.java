@@ -0,0 +1,40 @@
+package ui.space;
+
+import java.util.Arrays;
+
+/**
+ * Creates generated state spaces from their {@code --space} description:
+ *
+ * <pre>
+ * grid:&lt;rows&gt;x&lt;columns&gt;[:&lt;blocked percent&gt;]
+ * puzzle:&lt;rows&gt;x&lt;columns&gt;:&lt;tile&gt;,&lt;tile&gt;,...
+ * </pre>
+ */
+public class StateSpaces {
+
+    private StateSpaces() {
+    }
+
+    public static StateSpace parse(String description) {
+        final var split = description.split(":");
+        final var size = split.length > 1 ? split[1].split("x") : new String[0];
+        if (size.length != 2) {
+            throw new IllegalArgumentException("Unknown state space " + description);
+        }
+        final var rows = Integer.parseInt(size[0]);
+        final var columns = Integer.parseInt(size[1]);
+
+        switch (split[0]) {
+            case "grid":
+                return new GridSpace(rows, columns, split.length > 2 ? Integer.parseInt(split[2]) : 0);
+            case "puzzle":
+                if (split.length < 3) {
+                    throw new IllegalArgumentException("Missing tiles in " + description);
+                }
+                final var tiles = Arrays.stream(split[2].split(",")).mapToInt(Integer::parseInt).toArray();
+                return new SlidingPuzzleSpace(rows, columns, tiles);
+            default:
+                throw new IllegalArgumentException("Unknown state space " + description);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ui.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size bitset whose bits can be set concurrently. {@link #set(int)} tells the caller whether it was the one to
+ * set the bit, which lets parallel searches claim states without a lock.
+ */
+public final class AtomicBitSet {
+
+    private final AtomicLongArray words;
+
+    public AtomicBitSet(int size) {
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    public boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit and returns whether it was clear before.
+     */
+    public boolean set(int index) {
+        final var word = index >>> 6;
+        final var mask = 1L << index;
+        var current = words.get(word);
+        while ((current & mask) == 0) {
+            final var witness = words.compareAndExchange(word, current, current | mask);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package ui.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over the ints {@code [0, capacity)}, e.g. state ids, ordered by a double key with ties broken by
+ * the smaller item. Every item is in the heap at most once and its position is tracked, so {@link #contains(int)}
+ * is O(1) and {@link #decreaseKey(int, double)} is O(log n).
+ */
+public final class IndexedMinHeap {
+
+    private final int[] heap;
+
+    private final int[] positions;
+
+    private final double[] keys;
+
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int item) {
+        return positions[item] >= 0;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Returns the item at position {@code i} of the heap array, for visiting every item in no particular order.
+     */
+    public int get(int i) {
+        return heap[i];
+    }
+
+    public double getKey(int item) {
+        return keys[item];
+    }
+
+    public void add(int item, double key) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("Item " + item + " is already in the heap");
+        }
+        keys[item] = key;
+        siftUp(size++, item);
+    }
+
+    public void decreaseKey(int item, double key) {
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("Key " + key + " is greater than the current key " + keys[item]);
+        }
+        keys[item] = key;
+        siftUp(positions[item], item);
+    }
+
+    public int remove() {
+        final var top = heap[0];
+        positions[top] = -1;
+        final var last = --size;
+        if (last > 0) {
+            siftDown(0, heap[last]);
+        }
+        return top;
+    }
+
+    /**
+     * Empties the heap in time proportional to its size rather than its capacity.
+     */
+    public void clear() {
+        for (var i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i, int item) {
+        while (i > 0) {
+            final var parent = (i - 1) >>> 1;
+            if (!less(item, heap[parent])) {
+                break;
+            }
+            place(i, heap[parent]);
+            i = parent;
+        }
+        place(i, item);
+    }
+
+    private void siftDown(int i, int item) {
+        final var half = size >>> 1;
+        while (i < half) {
+            var child = 2 * i + 1;
+            final var right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], item)) {
+                break;
+            }
+            place(i, heap[child]);
+            i = child;
+        }
+        place(i, item);
+    }
+
+    private void place(int i, int item) {
+        heap[i] = item;
+        positions[item] = i;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+}
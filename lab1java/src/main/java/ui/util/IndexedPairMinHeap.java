@@ -0,0 +1,142 @@
+package ui.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over the ints {@code [0, capacity)} ordered by a pair of double keys compared lexicographically,
+ * with ties broken by the smaller item. Unlike {@link IndexedMinHeap}, the keys of an item can move in either
+ * direction and any item can be removed, as LPA* and D* Lite need.
+ */
+public final class IndexedPairMinHeap {
+
+    private final int[] heap;
+
+    private final int[] positions;
+
+    private final double[] firstKeys;
+
+    private final double[] secondKeys;
+
+    private int size;
+
+    public IndexedPairMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.firstKeys = new double[capacity];
+        this.secondKeys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int item) {
+        return positions[item] >= 0;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public double getFirstKey(int item) {
+        return firstKeys[item];
+    }
+
+    public double getSecondKey(int item) {
+        return secondKeys[item];
+    }
+
+    public void add(int item, double firstKey, double secondKey) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("Item " + item + " is already in the heap");
+        }
+        firstKeys[item] = firstKey;
+        secondKeys[item] = secondKey;
+        siftUp(size++, item);
+    }
+
+    /**
+     * Sets the keys of an item already in the heap, moving it up or down as needed.
+     */
+    public void update(int item, double firstKey, double secondKey) {
+        final var decreased = firstKey < firstKeys[item]
+                              || (firstKey == firstKeys[item] && secondKey < secondKeys[item]);
+        firstKeys[item] = firstKey;
+        secondKeys[item] = secondKey;
+        if (decreased) {
+            siftUp(positions[item], item);
+        } else {
+            siftDown(positions[item], item);
+        }
+    }
+
+    public int remove() {
+        final var top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    public void remove(int item) {
+        final var i = positions[item];
+        positions[item] = -1;
+        final var last = --size;
+        if (i == last) {
+            return;
+        }
+        final var moved = heap[last];
+        if (i > 0 && less(moved, heap[(i - 1) >>> 1])) {
+            siftUp(i, moved);
+        } else {
+            siftDown(i, moved);
+        }
+    }
+
+    private void siftUp(int i, int item) {
+        while (i > 0) {
+            final var parent = (i - 1) >>> 1;
+            if (!less(item, heap[parent])) {
+                break;
+            }
+            place(i, heap[parent]);
+            i = parent;
+        }
+        place(i, item);
+    }
+
+    private void siftDown(int i, int item) {
+        final var half = size >>> 1;
+        while (i < half) {
+            var child = 2 * i + 1;
+            final var right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], item)) {
+                break;
+            }
+            place(i, heap[child]);
+            i = child;
+        }
+        place(i, item);
+    }
+
+    private void place(int i, int item) {
+        heap[i] = item;
+        positions[item] = i;
+    }
+
+    private boolean less(int a, int b) {
+        if (firstKeys[a] != firstKeys[b]) {
+            return firstKeys[a] < firstKeys[b];
+        }
+        if (secondKeys[a] != secondKeys[b]) {
+            return secondKeys[a] < secondKeys[b];
+        }
+        return a < b;
+    }
+}
@@ -0,0 +1,85 @@
+package ui.util;
+
+/**
+ * Set of longs with open addressing and linear probing over a plain {@code long[]}, so members are neither boxed nor
+ * wrapped in entries. The table doubles once it is half full.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] table;
+
+    private boolean containsEmpty;
+
+    private int size;
+
+    public LongHashSet(int expectedSize) {
+        this.table = new long[Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        final var mask = table.length - 1;
+        for (var slot = mix(value) & mask; table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (table[slot] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds {@code value} and returns whether it was not in the set before.
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        final var mask = table.length - 1;
+        var slot = mix(value) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size * 2 > table.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    private void rehash() {
+        final var old = table;
+        table = new long[old.length * 2];
+        final var mask = table.length - 1;
+        for (final var value : old) {
+            if (value != EMPTY) {
+                var slot = mix(value) & mask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private static int mix(long value) {
+        final var hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
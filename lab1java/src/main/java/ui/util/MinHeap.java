@@ -0,0 +1,77 @@
+package ui.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable binary min-heap of ints, e.g. search node indices, ordered by a double key. Unlike
+ * {@link IndexedMinHeap} an item may be added more than once and the items are not bounded, so stale entries are
+ * skipped by the caller. Ties go to the larger item, which for node indices is the node created last.
+ */
+public final class MinHeap {
+
+    private int[] items = new int[16];
+
+    private double[] keys = new double[16];
+
+    private int size;
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double peekKey() {
+        return keys[0];
+    }
+
+    public void add(int item, double key) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        var i = size++;
+        while (i > 0) {
+            final var parent = (i - 1) >>> 1;
+            if (!less(key, item, keys[parent], items[parent])) {
+                break;
+            }
+            items[i] = items[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        items[i] = item;
+        keys[i] = key;
+    }
+
+    public int remove() {
+        final var top = items[0];
+        final var last = --size;
+        final var item = items[last];
+        final var key = keys[last];
+        var i = 0;
+        final var half = size >>> 1;
+        while (i < half) {
+            var child = 2 * i + 1;
+            final var right = child + 1;
+            if (right < size && less(keys[right], items[right], keys[child], items[child])) {
+                child = right;
+            }
+            if (!less(keys[child], items[child], key, item)) {
+                break;
+            }
+            items[i] = items[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        items[i] = item;
+        keys[i] = key;
+        return top;
+    }
+
+    private static boolean less(double keyA, int a, double keyB, int b) {
+        return keyA < keyB || (keyA == keyB && a > b);
+    }
+}
@@ -0,0 +1,166 @@
+package ui.util;
+
+import ui.metrics.SearchMetrics;
+import ui.model.CompactGraph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Dijkstra's algorithm over a {@link CompactGraph} from one or more sources, for the searches and tables that need
+ * shortest path costs rather than a {@link ui.result.SearchResult}.
+ *
+ * <p>Every state is in the open list at most once, keyed by its cost so far, and is only lowered while that cost drops,
+ * so with non-negative edge costs a state is never reopened once it has been removed. Costs of unreached states are
+ * infinite and their parent is {@link #NONE}. Callers that repair costs after edits can seed the search themselves
+ * with {@link #lower(int, double, int)} and {@link #forget(int)} before running it.
+ */
+public final class ShortestPaths {
+
+    public static final int NONE = -1;
+
+    private final CompactGraph graph;
+
+    private final double[] costs;
+
+    private final int[] parents;
+
+    private final IndexedMinHeap open;
+
+    private final IntConsumer beforeLowering;
+
+    private SearchMetrics metrics;
+
+    private int settled;
+
+    public ShortestPaths(CompactGraph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Creates a search that calls {@code beforeLowering} with every state whose cost is about to drop, while
+     * {@link #getCost(int)} still returns the old cost.
+     */
+    public ShortestPaths(CompactGraph graph, IntConsumer beforeLowering) {
+        this.graph = graph;
+        this.beforeLowering = beforeLowering;
+        this.costs = new double[graph.size()];
+        this.parents = new int[graph.size()];
+        this.open = new IndexedMinHeap(graph.size());
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, NONE);
+    }
+
+    /**
+     * Returns the cost of the cheapest path from any of {@code sources} to every state, infinite for the states none
+     * of them reaches.
+     */
+    public static double[] distances(CompactGraph graph, int... sources) {
+        final var paths = new ShortestPaths(graph);
+        for (final var source : sources) {
+            paths.addSource(source);
+        }
+        paths.run(state -> false);
+        return paths.costs;
+    }
+
+    /**
+     * Counts generated and duplicate successors and the peak size of open into {@code metrics} from now on.
+     */
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void addSource(int state) {
+        if (lower(state, 0.0, NONE) && metrics != null) {
+            metrics.open(open.size());
+        }
+    }
+
+    /**
+     * Lowers the cost of {@code state} to {@code cost}, reached from {@code parent}, and opens it, unless its cost is
+     * already as low. Returns whether it was lowered.
+     */
+    public boolean lower(int state, double cost, int parent) {
+        if (cost >= costs[state]) {
+            return false;
+        }
+        if (beforeLowering != null) {
+            beforeLowering.accept(state);
+        }
+        costs[state] = cost;
+        parents[state] = parent;
+        if (open.contains(state)) {
+            open.decreaseKey(state, cost);
+        } else {
+            open.add(state, cost);
+        }
+        return true;
+    }
+
+    /**
+     * Settles states in order of cost until one passes {@code stop}, which is returned without being expanded, or
+     * until every reachable state is settled, returning {@link #NONE}. Another call picks up where this one stopped.
+     */
+    public int run(IntPredicate stop) {
+        while (!open.isEmpty()) {
+            final var state = open.remove();
+            if (stop.test(state)) {
+                return state;
+            }
+            settled++;
+            for (var e = graph.edgeStart(state); e < graph.edgeEnd(state); e++) {
+                final var lowered = lower(graph.getTarget(e), costs[state] + graph.getCost(e), state);
+                if (metrics == null) {
+                    continue;
+                }
+                if (lowered) {
+                    metrics.generated();
+                    metrics.open(open.size());
+                } else {
+                    metrics.duplicate();
+                }
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Makes {@code state} unreached again, for a cost that no longer holds. It must not be in the open list.
+     */
+    public void forget(int state) {
+        costs[state] = Double.POSITIVE_INFINITY;
+        parents[state] = NONE;
+    }
+
+    public double getCost(int state) {
+        return costs[state];
+    }
+
+    public int getParent(int state) {
+        return parents[state];
+    }
+
+    /**
+     * Returns the number of states removed from the open list and expanded so far.
+     */
+    public int getSettledCount() {
+        return settled;
+    }
+
+    /**
+     * Returns the states on the cheapest path found to {@code state}, from its source to the state itself.
+     */
+    public int[] tracePath(int state) {
+        var length = 0;
+        for (var s = state; s != NONE; s = parents[s]) {
+            length++;
+        }
+        final var path = new int[length];
+        for (var s = state; s != NONE; s = parents[s]) {
+            path[--length] = s;
+        }
+        return path;
+    }
+}
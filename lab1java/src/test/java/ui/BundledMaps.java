@@ -0,0 +1,67 @@
+package ui;
+
+import ui.model.CompactGraph;
+import ui.result.SearchResult;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The state spaces in {@code files/} with their consistent heuristics, and checks for the paths found in them.
+ */
+public final class BundledMaps {
+
+    private static final DataLoader LOADER = new DataLoader("files/");
+
+    private BundledMaps() {
+    }
+
+    /**
+     * Returns the state space files, for {@code @MethodSource("ui.BundledMaps#files")}.
+     */
+    public static Stream<String> files() {
+        return Stream.of("istra.txt", "ai.txt", "test_case_1.txt", "test_case_2.txt", "test_case_3.txt");
+    }
+
+    /**
+     * Loads a state space with its consistent heuristic.
+     */
+    public static CompactGraph load(String fileName) {
+        final var graph = LOADER.loadCompactStates(fileName);
+        LOADER.loadHeuristicValues(heuristicFile(fileName), graph);
+        return graph;
+    }
+
+    /**
+     * Asserts that the result is a path from the start state to an end state along edges of the graph, whose
+     * reported cost is the sum of its edges, and returns the path as state ids.
+     */
+    public static int[] assertPath(CompactGraph graph, SearchResult result) {
+        assertTrue(result.isFoundSolution(), "no path found");
+        final var path = result.getPath().stream().mapToInt(name -> graph.getStateId(name).orElseThrow()).toArray();
+        assertEquals(path.length, result.getPathLength());
+        assertEquals(graph.getStartState(), path[0]);
+        assertTrue(graph.isEndState(path[path.length - 1]), "path does not end in an end state");
+
+        var cost = 0.0;
+        for (var i = 0; i < path.length - 1; i++) {
+            cost += graph.getCost(path[i], path[i + 1]);
+        }
+        assertEquals(cost, result.getTotalCost(), 1e-9);
+        return path;
+    }
+
+    /**
+     * Asserts that the result is a path as in {@link #assertPath(CompactGraph, SearchResult)} with the given cost.
+     */
+    public static void assertPath(CompactGraph graph, SearchResult result, double cost) {
+        assertPath(graph, result);
+        assertEquals(cost, result.getTotalCost(), 1e-9);
+    }
+
+    private static String heuristicFile(String fileName) {
+        return fileName.equals("ai.txt") ? "ai_pass.txt" : fileName.replace(".txt", "_heuristic.txt");
+    }
+}
@@ -0,0 +1,38 @@
+package ui;
+
+import ui.model.CompactGraph;
+
+import java.util.Random;
+
+/**
+ * Random state spaces large enough for the parallel searches to split the work between threads, with integer edge
+ * costs and a zero heuristic.
+ */
+public final class RandomGraphs {
+
+    private RandomGraphs() {
+    }
+
+    /**
+     * Returns a graph of {@code states} states, each with one to {@code degree} successors, starting in the first
+     * state and ending in {@code endStates} others.
+     */
+    public static CompactGraph generate(long seed, int states, int degree, int endStates) {
+        final var random = new Random(seed);
+        final var builder = new CompactGraph.Builder();
+        for (var s = 0; s < states; s++) {
+            builder.addState("s" + s);
+        }
+        for (var s = 0; s < states; s++) {
+            final var successors = 1 + random.nextInt(degree);
+            for (var i = 0; i < successors; i++) {
+                builder.addEdge(s, random.nextInt(states), 1 + random.nextInt(9));
+            }
+        }
+        builder.setStartState(0);
+        for (var i = 0; i < endStates; i++) {
+            builder.addEndState(1 + random.nextInt(states - 1));
+        }
+        return builder.build();
+    }
+}
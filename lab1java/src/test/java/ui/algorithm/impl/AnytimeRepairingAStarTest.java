@@ -0,0 +1,61 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+import ui.heuristic.Heuristic;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnytimeRepairingAStarTest {
+
+    static Stream<Arguments> filesAndWeights() {
+        return BundledMaps.files()
+            .flatMap(file -> DoubleStream.of(1.0, 2.5, 5.0).mapToObj(weight -> Arguments.of(file, weight)));
+    }
+
+    static Stream<Arguments> seedsAndBudgets() {
+        return LongStream.rangeClosed(1, 3)
+            .boxed()
+            .flatMap(seed -> LongStream.of(10, 100, 1_000).mapToObj(budget -> Arguments.of(seed, budget)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filesAndWeights")
+    void findsTheUcsCostWithoutABudget(String fileName, double weight) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new AnytimeRepairingAStar(() -> weight, () -> 0, () -> 0)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+        assertTrue(result.getSuboptimalityBound() <= 1.0, "bound " + result.getSuboptimalityBound());
+    }
+
+    @ParameterizedTest
+    @MethodSource("seedsAndBudgets")
+    void staysWithinTheReportedBoundWhenTheBudgetRunsOut(long seed, long budget) {
+        final var graph = RandomGraphs.generate(seed, 5_000, 4, 3);
+        final var trueCosts = Heuristic.reverseTrueCosts(graph);
+        for (var s = 0; s < graph.size(); s++) {
+            graph.setHeuristicValue(s, trueCosts[s] * 0.8);
+        }
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new AnytimeRepairingAStar(() -> 3.0, () -> 0, () -> budget)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        if (result.isFoundSolution()) {
+            BundledMaps.assertPath(graph, result);
+            assertTrue(result.getTotalCost() >= ucs.getTotalCost() - 1e-9);
+            assertTrue(result.getTotalCost() <= result.getSuboptimalityBound() * ucs.getTotalCost() + 1e-9);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BidirectionalSearchTest {
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void bidirectionalDijkstraFindsTheUcsCost(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new BidirectionalDijkstra().find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void bidirectionalBfsFindsTheBfsLength(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var bfs = new BreadthFirstSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new BidirectionalBreadthFirstSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result);
+        assertEquals(bfs.getPathLength(), result.getPathLength());
+    }
+
+    @Test
+    void bothFailWithoutAnEndState() {
+        final var graph = BundledMaps.load("istra.txt");
+
+        assertFalse(new BidirectionalDijkstra().find(graph, graph.getStartState(), state -> false).isFoundSolution());
+        assertFalse(
+            new BidirectionalBreadthFirstSearch().find(graph, graph.getStartState(), state -> false).isFoundSolution()
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+import ui.model.CompactGraph;
+import ui.model.ContractionHierarchy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContractionHierarchySearchTest {
+
+    static LongStream seeds() {
+        return LongStream.rangeClosed(1, 5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void findsTheUcsPathCost(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = search(ContractionHierarchy.build(graph))
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void findsTheUcsCostBetweenEveryPairOfStates(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+
+        assertMatchesUcsBetweenEveryPair(graph, search(ContractionHierarchy.build(graph)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void findsTheUcsCostOnRandomGraphs(long seed) {
+        final var graph = RandomGraphs.generate(seed, 2_000, 4, 3);
+        final var ch = search(ContractionHierarchy.build(graph));
+
+        for (var s0 = 0; s0 < graph.size(); s0 += 37) {
+            assertMatchesUcs(graph, ch, s0);
+        }
+    }
+
+    @Test
+    void findsTheUcsCostThroughADenseCore() {
+        // enough edges per state that contraction stops early and leaves an uncontracted core
+        final var graph = RandomGraphs.generate(7, 300, 80, 2);
+        final var ch = search(ContractionHierarchy.build(graph));
+
+        for (var s0 = 0; s0 < graph.size(); s0++) {
+            assertMatchesUcs(graph, ch, s0);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void answersTheSameAfterAWriteAndRead(String fileName) throws IOException {
+        final var graph = BundledMaps.load(fileName);
+        final var bytes = new ByteArrayOutputStream();
+        ContractionHierarchy.build(graph).write(new DataOutputStream(bytes));
+
+        final var read = ContractionHierarchy.read(ByteBuffer.wrap(bytes.toByteArray()));
+
+        assertMatchesUcsBetweenEveryPair(graph, search(read));
+    }
+
+    private static ContractionHierarchySearch search(ContractionHierarchy hierarchy) {
+        return new ContractionHierarchySearch(graph -> hierarchy);
+    }
+
+    private static void assertMatchesUcsBetweenEveryPair(CompactGraph graph, ContractionHierarchySearch ch) {
+        for (var s0 = 0; s0 < graph.size(); s0++) {
+            for (var t = 0; t < graph.size(); t++) {
+                final var goal = t;
+                final var ucs = new UniformCostSearch().find(graph, s0, state -> state == goal);
+
+                final var result = ch.find(graph, s0, state -> state == goal);
+
+                final var pair = graph.getName(s0) + " -> " + graph.getName(t);
+                assertEquals(ucs.isFoundSolution(), result.isFoundSolution(), pair);
+                assertEquals(ucs.getTotalCost(), result.getTotalCost(), 1e-9, pair);
+            }
+        }
+    }
+
+    private static void assertMatchesUcs(CompactGraph graph, ContractionHierarchySearch ch, int s0) {
+        final var ucs = new UniformCostSearch().find(graph, s0, graph::isEndState);
+
+        final var result = ch.find(graph, s0, graph::isEndState);
+
+        assertEquals(ucs.isFoundSolution(), result.isFoundSolution(), graph.getName(s0));
+        assertEquals(ucs.getTotalCost(), result.getTotalCost(), 1e-9, graph.getName(s0));
+    }
+}
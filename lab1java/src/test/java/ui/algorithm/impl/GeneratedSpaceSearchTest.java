@@ -0,0 +1,51 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ui.algorithm.StateSpaceSearchAlgorithm;
+import ui.result.SearchResult;
+import ui.space.StateSpaces;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeneratedSpaceSearchTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"puzzle:3x3:1,2,3,4,5,6,0,7,8", "puzzle:3x3:8,6,7,2,5,4,3,0,1", "puzzle:2x3:4,1,2,5,0,3"})
+    void puzzleSearchesAgreeWithBfs(String description) {
+        assertAgreeWithBfs(
+            description,
+            List.of(new UniformCostSearch(), new AStar(), new IterativeDeepeningAStar())
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid:40x40", "grid:80x60:20", "grid:30x30:45"})
+    void gridSearchesAgreeWithBfs(String description) {
+        assertAgreeWithBfs(description, List.of(new UniformCostSearch(), new AStar()));
+    }
+
+    /**
+     * Every step costs 1 in the generated spaces, so the cost of a cheapest path is also its number of steps.
+     */
+    private static void assertAgreeWithBfs(String description, List<StateSpaceSearchAlgorithm> algorithms) {
+        final var bfs = new BreadthFirstSearch().find(StateSpaces.parse(description));
+        for (final var algorithm : algorithms) {
+            final var result = algorithm.find(StateSpaces.parse(description));
+            assertEquals(bfs.isFoundSolution(), result.isFoundSolution(), description);
+            if (!bfs.isFoundSolution()) {
+                continue;
+            }
+            assertEquals(bfs.getTotalCost(), result.getTotalCost(), description);
+            assertEquals(result.getTotalCost() + 1, result.getPathLength(), description);
+            assertEquals(bfs.getPath().get(0), result.getPath().get(0), description);
+            assertEquals(last(bfs), last(result), description);
+        }
+    }
+
+    private static String last(SearchResult result) {
+        return result.getPath().get(result.getPathLength() - 1);
+    }
+}
@@ -0,0 +1,76 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HashDistributedAStarTest {
+
+    static Stream<Arguments> filesAndThreads() {
+        return BundledMaps.files()
+            .flatMap(file -> IntStream.of(1, 2, 4, 8).mapToObj(threads -> Arguments.of(file, threads)));
+    }
+
+    static Stream<Arguments> seedsAndThreads() {
+        return LongStream.rangeClosed(1, 5)
+            .boxed()
+            .flatMap(seed -> IntStream.of(2, 4, 8).mapToObj(threads -> Arguments.of(seed, threads)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filesAndThreads")
+    void findsTheUcsCost(String fileName, int threads) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new HashDistributedAStar(() -> threads)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @RepeatedTest(20)
+    @Timeout(10)
+    void findsTheUcsCostOnEveryRunWithFourThreads() {
+        final var graph = RandomGraphs.generate(42, 20_000, 3, 2);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new HashDistributedAStar(() -> 4).find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @ParameterizedTest
+    @MethodSource("seedsAndThreads")
+    @Timeout(30)
+    void findsTheUcsCostOnLargeRandomGraphs(long seed, int threads) {
+        final var graph = RandomGraphs.generate(seed, 50_000, 4, 3);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new HashDistributedAStar(() -> threads)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @Test
+    @Timeout(10)
+    void terminatesWithoutAnEndState() {
+        final var graph = RandomGraphs.generate(1, 50_000, 4, 0);
+
+        final var result = new HashDistributedAStar(() -> 4).find(graph, graph.getStartState(), graph::isEndState);
+
+        assertFalse(result.isFoundSolution());
+    }
+}
@@ -0,0 +1,134 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+import ui.algorithm.IncrementalSearch;
+import ui.algorithm.IncrementalSearchAlgorithm;
+import ui.model.CompactGraph;
+import ui.model.GraphEdit;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalSearchTest {
+
+    static Stream<Arguments> filesAndAlgorithms() {
+        return BundledMaps.files().flatMap(file -> algorithms().map(algorithm -> Arguments.of(file, algorithm)));
+    }
+
+    static Stream<Arguments> seedsAndAlgorithms() {
+        return LongStream.rangeClosed(1, 5)
+            .boxed()
+            .flatMap(seed -> algorithms().map(algorithm -> Arguments.of(seed, algorithm)));
+    }
+
+    static Stream<IncrementalSearchAlgorithm> algorithms() {
+        return Stream.of(new LifelongPlanningAStar(), new DStarLite());
+    }
+
+    @ParameterizedTest
+    @MethodSource("filesAndAlgorithms")
+    void replansToTheUcsCostAfterRaisingAndRestoringPathEdges(String fileName, IncrementalSearchAlgorithm algorithm) {
+        final var graph = BundledMaps.load(fileName);
+
+        assertReplansToUcsCost(graph, algorithm, new double[]{10.0, 1.0}, new Random(fileName.hashCode()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filesAndAlgorithms")
+    void replansToTheUcsCostAfterDroppingPathEdges(String fileName, IncrementalSearchAlgorithm algorithm) {
+        final var graph = BundledMaps.load(fileName);
+        clearHeuristic(graph);
+
+        assertReplansToUcsCost(graph, algorithm, new double[]{10.0, 0.0, 1.0}, new Random(fileName.hashCode()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seedsAndAlgorithms")
+    void replansToTheUcsCostOnRandomGraphs(long seed, IncrementalSearchAlgorithm algorithm) {
+        final var graph = RandomGraphs.generate(seed, 5_000, 4, 3);
+
+        assertReplansToUcsCost(graph, algorithm, new double[]{10.0, 0.0, 1.0}, new Random(seed));
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithms")
+    void failsWhenAnEditCutsTheOnlyPath(IncrementalSearchAlgorithm algorithm) {
+        final var builder = new CompactGraph.Builder();
+        final var a = builder.addState("a");
+        final var b = builder.addState("b");
+        final var c = builder.addState("c");
+        final var graph = builder.addEdge(a, b, 1.0).addEdge(b, c, 1.0).setStartState(a).addEndState(c).build();
+        final var search = algorithm.plan(graph, graph.getStartState(), graph::isEndState);
+        BundledMaps.assertPath(graph, search.search(), 2.0);
+
+        final var from = graph.getStateId("b").orElseThrow();
+        final var to = graph.getStateId("c").orElseThrow();
+        search.apply(new GraphEdit(from, to, Double.POSITIVE_INFINITY));
+
+        assertFalse(search.search().isFoundSolution());
+    }
+
+    /**
+     * Scales the edges of the optimal path from the start state by each factor in turn, the scaled path of one batch
+     * staying in the graph for the next, with an unrelated edge changed in between. After every batch the replanned
+     * path must cost as much as a UCS from scratch on the edited graph.
+     */
+    private static void assertReplansToUcsCost(
+        CompactGraph graph,
+        IncrementalSearchAlgorithm algorithm,
+        double[] factors,
+        Random random
+    ) {
+        final var search = algorithm.plan(graph, graph.getStartState(), graph::isEndState);
+        final var first = search.search();
+        BundledMaps.assertPath(graph, first, ucsCost(graph));
+        final var path = BundledMaps.assertPath(graph, first);
+        final var original = new double[path.length - 1];
+        for (var i = 0; i < original.length; i++) {
+            original[i] = graph.getCost(path[i], path[i + 1]);
+        }
+
+        for (final var factor : factors) {
+            for (var i = 0; i < original.length; i++) {
+                search.apply(new GraphEdit(path[i], path[i + 1], factor == 0.0 ? 0.0 : original[i] * factor + 1.0));
+            }
+            applyRandomEdit(graph, search, random);
+
+            BundledMaps.assertPath(graph, search.search(), ucsCost(graph));
+        }
+    }
+
+    /**
+     * Raises the first edge of a random state with successors, which never makes a consistent heuristic overestimate.
+     */
+    private static void applyRandomEdit(CompactGraph graph, IncrementalSearch search, Random random) {
+        for (var attempt = 0; attempt < graph.size(); attempt++) {
+            final var state = random.nextInt(graph.size());
+            final var e = graph.edgeStart(state);
+            if (e < graph.edgeEnd(state)) {
+                search.apply(new GraphEdit(state, graph.getTarget(e), graph.getCost(e) + 1.0 + random.nextInt(5)));
+                return;
+            }
+        }
+    }
+
+    private static double ucsCost(CompactGraph graph) {
+        final var result = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+        assertTrue(result.isFoundSolution());
+        return result.getTotalCost();
+    }
+
+    private static void clearHeuristic(CompactGraph graph) {
+        for (var s = 0; s < graph.size(); s++) {
+            graph.setHeuristicValue(s, 0.0);
+        }
+    }
+}
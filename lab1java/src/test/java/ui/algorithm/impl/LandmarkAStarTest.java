@@ -0,0 +1,77 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+import ui.heuristic.Landmarks;
+import ui.model.CompactGraph;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class LandmarkAStarTest {
+
+    static Stream<Arguments> filesAndLandmarks() {
+        return BundledMaps.files()
+            .flatMap(file -> IntStream.of(1, 4, 16).mapToObj(count -> Arguments.of(file, count)));
+    }
+
+    static LongStream seeds() {
+        return LongStream.rangeClosed(1, 5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("filesAndLandmarks")
+    void findsTheUcsCostFromEveryState(String fileName, int count) {
+        final var graph = BundledMaps.load(fileName);
+        final var landmarks = Landmarks.build(graph, count);
+
+        assertMatchesUcsFromEveryState(graph, new LandmarkAStar(g -> landmarks));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void findsTheUcsCostFromEveryStateOnRandomGraphs(long seed) {
+        final var graph = RandomGraphs.generate(seed, 2_000, 4, 3);
+        final var landmarks = Landmarks.build(graph, 8);
+
+        assertMatchesUcsFromEveryState(graph, new LandmarkAStar(g -> landmarks));
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void neverOverestimatesTheTrueCost(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var landmarks = Landmarks.build(graph, 4);
+
+        for (var v = 0; v < graph.size(); v++) {
+            for (var t = 0; t < graph.size(); t++) {
+                final var goal = t;
+                final var ucs = new UniformCostSearch().find(graph, v, state -> state == goal);
+                if (ucs.isFoundSolution()) {
+                    assertFalse(
+                        landmarks.lowerBound(v, t) > ucs.getTotalCost() + 1e-9,
+                        graph.getName(v) + " -> " + graph.getName(t)
+                    );
+                }
+            }
+        }
+    }
+
+    private static void assertMatchesUcsFromEveryState(CompactGraph graph, LandmarkAStar alt) {
+        for (var s0 = 0; s0 < graph.size(); s0++) {
+            final var ucs = new UniformCostSearch().find(graph, s0, graph::isEndState);
+
+            final var result = alt.find(graph, s0, graph::isEndState);
+
+            assertEquals(ucs.isFoundSolution(), result.isFoundSolution(), graph.getName(s0));
+            assertEquals(ucs.getTotalCost(), result.getTotalCost(), 1e-9, graph.getName(s0));
+        }
+    }
+}
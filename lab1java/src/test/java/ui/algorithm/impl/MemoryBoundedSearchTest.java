@@ -0,0 +1,65 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryBoundedSearchTest {
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void iterativeDeepeningFindsTheUcsCost(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new IterativeDeepeningAStar().find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void smaFindsTheUcsCost(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new SimplifiedMemoryBoundedAStar(() -> 1_000_000)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void smaStaysOptimalWithinABudgetJustAboveTheSolutionDepth(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+        final var ucs = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState);
+        final var budget = ucs.getPathLength() + 1;
+
+        final var result = new SimplifiedMemoryBoundedAStar(() -> budget)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result, ucs.getTotalCost());
+        assertTrue(result.getPeakMemory() <= budget, "peak memory " + result.getPeakMemory() + " over " + budget);
+    }
+
+    @Test
+    @Timeout(10)
+    void bothFailAtOnceWithoutAReachableEndState() {
+        final var graph = BundledMaps.load("ai.txt");
+
+        assertFalse(
+            new IterativeDeepeningAStar().find(graph, graph.getStartState(), state -> false).isFoundSolution()
+        );
+        assertFalse(
+            new SimplifiedMemoryBoundedAStar(() -> 1_000_000)
+                .find(graph, graph.getStartState(), state -> false)
+                .isFoundSolution()
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package ui.algorithm.impl;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+import ui.model.CompactGraph;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ParallelBreadthFirstSearchTest {
+
+    static Stream<Arguments> filesAndThreads() {
+        return BundledMaps.files()
+            .flatMap(file -> IntStream.of(1, 2, 4, 8).mapToObj(threads -> Arguments.of(file, threads)));
+    }
+
+    static Stream<Arguments> seedsAndThreads() {
+        return LongStream.rangeClosed(1, 5)
+            .boxed()
+            .flatMap(seed -> IntStream.of(1, 2, 4, 8).mapToObj(threads -> Arguments.of(seed, threads)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filesAndThreads")
+    void matchesBfs(String fileName, int threads) {
+        assertMatchesBfs(BundledMaps.load(fileName), threads);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seedsAndThreads")
+    @Timeout(30)
+    void matchesBfsOnLargeRandomGraphs(long seed, int threads) {
+        assertMatchesBfs(RandomGraphs.generate(seed, 50_000, 4, 3), threads);
+    }
+
+    @RepeatedTest(20)
+    @Timeout(10)
+    void matchesBfsOnEveryRunWithFourThreads() {
+        assertMatchesBfs(RandomGraphs.generate(42, 20_000, 3, 2), 4);
+    }
+
+    @Test
+    @Timeout(10)
+    void visitsEveryReachableStateWithoutAnEndState() {
+        final var graph = RandomGraphs.generate(1, 50_000, 4, 0);
+        final var bfs = new BreadthFirstSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new ParallelBreadthFirstSearch(() -> 4)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        assertFalse(result.isFoundSolution());
+        assertEquals(bfs.getStatesVisited(), result.getStatesVisited());
+    }
+
+    private static void assertMatchesBfs(CompactGraph graph, int threads) {
+        final var bfs = new BreadthFirstSearch().find(graph, graph.getStartState(), graph::isEndState);
+
+        final var result = new ParallelBreadthFirstSearch(() -> threads)
+            .find(graph, graph.getStartState(), graph::isEndState);
+
+        BundledMaps.assertPath(graph, result);
+        assertEquals(bfs.getPath(), result.getPath());
+        assertEquals(bfs.getStatesVisited(), result.getStatesVisited());
+    }
+}
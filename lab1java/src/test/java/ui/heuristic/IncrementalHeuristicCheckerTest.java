@@ -0,0 +1,166 @@
+package ui.heuristic;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.DataLoader;
+import ui.RandomGraphs;
+import ui.algorithm.impl.UniformCostSearch;
+import ui.model.CompactGraph;
+import ui.heuristic.IncrementalHeuristicChecker.Condition;
+import ui.model.GraphEdit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalHeuristicCheckerTest {
+
+    @TempDir
+    Path directory;
+
+    static LongStream seeds() {
+        return LongStream.rangeClosed(1, 5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void matchesAFullCheckAfterRaisingAndDroppingTreeEdges(String fileName) throws IOException {
+        assertMatchesFullCheck(BundledMaps.load(fileName), new Random(fileName.hashCode()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void matchesAFullCheckOnRandomGraphs(long seed) throws IOException {
+        final var graph = RandomGraphs.generate(seed, 2_000, 4, 3);
+        final var random = new Random(seed);
+        final var trueCosts = Heuristic.reverseTrueCosts(graph);
+        for (var s = 0; s < graph.size(); s++) {
+            graph.setHeuristicValue(s, Math.floor(trueCosts[s] * random.nextDouble() * 1.2));
+        }
+
+        assertMatchesFullCheck(graph, random);
+    }
+
+    /**
+     * Raises the edges of the optimal path from the start state, so states below them lose their h*, then drops them
+     * below their original cost and finally restores them, with a few heuristic edits in between. Each batch goes
+     * through an edits file and is compared with the checks run from scratch.
+     */
+    private void assertMatchesFullCheck(CompactGraph graph, Random random) throws IOException {
+        final var path = new UniformCostSearch().find(graph, graph.getStartState(), graph::isEndState)
+            .getPath()
+            .stream()
+            .mapToInt(name -> graph.getStateId(name).orElseThrow())
+            .toArray();
+        final var original = new double[path.length - 1];
+        for (var i = 0; i < original.length; i++) {
+            original[i] = graph.getCost(path[i], path[i + 1]);
+        }
+
+        final var lines = new ArrayList<String>();
+        for (final var factor : new double[]{10.0, 0.0, 1.0}) {
+            for (var i = 0; i < original.length; i++) {
+                lines.add(edge(graph, path[i], path[i + 1], factor == 0.0 ? 0.0 : original[i] * factor + 1.0));
+            }
+            final var state = random.nextInt(graph.size());
+            lines.add(String.format(Locale.US, "%s: %.1f", graph.getName(state), (double) random.nextInt(20)));
+            lines.add("");
+        }
+        for (var i = 0; i < original.length; i++) {
+            lines.add(edge(graph, path[i], path[i + 1], original[i]));
+        }
+        Files.write(directory.resolve("edits.txt"), lines);
+        final var batches = new DataLoader(directory + "/").loadEdits("edits.txt", graph);
+        assertEquals(4, batches.size());
+
+        final var checker = new IncrementalHeuristicChecker(graph);
+        var previous = Heuristic.reverseTrueCosts(graph);
+        for (final var batch : batches) {
+            batch.forEach(checker::apply);
+            final var conditions = checker.update();
+
+            final var trueCosts = Heuristic.reverseTrueCosts(graph);
+            for (var s = 0; s < graph.size(); s++) {
+                assertEquals(trueCosts[s], checker.getTrueCost(s), 1e-9, graph.getName(s));
+            }
+            assertEquals(isOptimistic(graph, trueCosts), checker.isOptimistic());
+            assertEquals(isConsistent(graph), checker.isConsistent());
+            assertEquals(expectedStates(graph, batch, previous, trueCosts), reportedStates(conditions));
+            for (final var condition : conditions) {
+                assertEquals(isOk(graph, trueCosts, condition), condition.isOk());
+            }
+            previous = trueCosts;
+        }
+    }
+
+    private static String edge(CompactGraph graph, int from, int to, double cost) {
+        return String.format(Locale.US, "%s -> %s: %.1f", graph.getName(from), graph.getName(to), cost);
+    }
+
+    /**
+     * The states whose optimistic condition has to be evaluated again: those whose h or h* changed.
+     */
+    private static Set<Integer> expectedStates(
+        CompactGraph graph,
+        List<GraphEdit> batch,
+        double[] previous,
+        double[] trueCosts
+    ) {
+        final var states = new TreeSet<Integer>();
+        for (var s = 0; s < graph.size(); s++) {
+            if (previous[s] != trueCosts[s]) {
+                states.add(s);
+            }
+        }
+        batch.stream().filter(GraphEdit::isHeuristic).forEach(edit -> states.add(edit.getFrom()));
+        return states;
+    }
+
+    private static Set<Integer> reportedStates(List<Condition> conditions) {
+        return conditions.stream()
+            .filter(Condition::isOptimisticCondition)
+            .map(Condition::getState)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static boolean isOk(CompactGraph graph, double[] trueCosts, Condition condition) {
+        final var state = condition.getState();
+        if (condition.isOptimisticCondition()) {
+            return graph.getHeuristicValue(state) <= trueCosts[state];
+        }
+        final var target = condition.getTarget();
+        return graph.getHeuristicValue(state) <= graph.getHeuristicValue(target) + graph.getCost(state, target);
+    }
+
+    private static boolean isOptimistic(CompactGraph graph, double[] trueCosts) {
+        for (var s = 0; s < graph.size(); s++) {
+            if (graph.getHeuristicValue(s) > trueCosts[s]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConsistent(CompactGraph graph) {
+        for (var s = 0; s < graph.size(); s++) {
+            for (var e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                if (graph.getHeuristicValue(s) > graph.getHeuristicValue(graph.getTarget(e)) + graph.getCost(e)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package ui.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import ui.BundledMaps;
+import ui.RandomGraphs;
+import ui.algorithm.impl.AStar;
+import ui.model.CompactGraph;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShortestPathsTest {
+
+    static LongStream seeds() {
+        return LongStream.rangeClosed(1, 3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void matchesAStarFromEveryState(String fileName) {
+        assertMatchesAStarFromEveryState(BundledMaps.load(fileName));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void matchesAStarFromEveryStateOnRandomGraphs(long seed) {
+        assertMatchesAStarFromEveryState(RandomGraphs.generate(seed, 300, 4, 3));
+    }
+
+    @ParameterizedTest
+    @MethodSource("ui.BundledMaps#files")
+    void startsFromEveryEndStateOfTheReverseGraph(String fileName) {
+        final var graph = BundledMaps.load(fileName);
+
+        final var costs = ShortestPaths.distances(graph.reverse(), graph.getEndStates());
+
+        for (var state = 0; state < graph.size(); state++) {
+            var best = Double.POSITIVE_INFINITY;
+            for (final var endState : graph.getEndStates()) {
+                best = Math.min(best, ShortestPaths.distances(graph, state)[endState]);
+            }
+            assertEquals(best, costs[state], 1e-9, graph.getName(state));
+        }
+    }
+
+    private static void assertMatchesAStarFromEveryState(CompactGraph graph) {
+        for (var source = 0; source < graph.size(); source++) {
+            final var costs = ShortestPaths.distances(graph, source);
+            for (var target = 0; target < graph.size(); target++) {
+                final var goal = target;
+                final var aStar = new AStar().find(graph, source, state -> state == goal, state -> 0.0);
+                final var expected = aStar.isFoundSolution() ? aStar.getTotalCost() : Double.POSITIVE_INFINITY;
+                assertEquals(expected, costs[target], 1e-9, graph.getName(source) + " -> " + graph.getName(target));
+            }
+        }
+    }
+}
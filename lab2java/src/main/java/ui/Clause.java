@@ -0,0 +1,238 @@
+package ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Disjunction of literals over interned {@link Atoms}, kept as two bitsets: the atoms that appear positive and the ones
+ * that appear negated. Trailing zero words are trimmed, so equal clauses have equal arrays and the checks of the
+ * resolution method are a pass over a few longs.
+ */
+public final class Clause {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final long[] positive;
+
+    private final long[] negative;
+
+    private final int hash;
+
+    private Clause(long[] positive, long[] negative) {
+        this.positive = positive;
+        this.negative = negative;
+        this.hash = 31 * Arrays.hashCode(positive) + Arrays.hashCode(negative);
+    }
+
+    public static Clause unit(int atom, boolean negated) {
+        final var words = new long[(atom >>> 6) + 1];
+        words[atom >>> 6] = 1L << atom;
+        return negated ? new Clause(EMPTY, words) : new Clause(words, EMPTY);
+    }
+
+    /**
+     * Returns the clause with the given literals, each an atom id that is negated if {@code ~} was applied to it.
+     */
+    public static Clause of(int[] atoms, boolean[] negated) {
+        var size = 0;
+        for (final var atom : atoms) {
+            size = Math.max(size, (atom >>> 6) + 1);
+        }
+        final var positive = new long[size];
+        final var negative = new long[size];
+        for (var i = 0; i < atoms.length; i++) {
+            final var words = negated[i] ? negative : positive;
+            words[atoms[i] >>> 6] |= 1L << atoms[i];
+        }
+        return new Clause(trim(positive), trim(negative));
+    }
+
+    public boolean isEmpty() {
+        return positive.length == 0 && negative.length == 0;
+    }
+
+    /**
+     * Returns the number of literals.
+     */
+    public int size() {
+        var size = 0;
+        for (final var word : positive) {
+            size += Long.bitCount(word);
+        }
+        for (final var word : negative) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the literals in atom order, each encoded as {@code atom << 1}, plus one if it is negated, so the
+     * complement of a literal is its code {@code ^ 1}.
+     */
+    public int[] literals() {
+        final var literals = new int[size()];
+        final var size = Math.max(positive.length, negative.length);
+        var i = 0;
+        for (var atom = 0; atom < size << 6; atom++) {
+            if (contains(positive, atom)) {
+                literals[i++] = atom << 1;
+            }
+            if (contains(negative, atom)) {
+                literals[i++] = atom << 1 | 1;
+            }
+        }
+        return literals;
+    }
+
+    /**
+     * Returns whether some atom appears both positive and negated.
+     */
+    public boolean isTautology() {
+        final var size = Math.min(positive.length, negative.length);
+        for (var i = 0; i < size; i++) {
+            if ((positive[i] & negative[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether every literal of this clause is also in {@code other}, which makes {@code other} redundant.
+     */
+    public boolean subsumes(Clause other) {
+        return isSubset(positive, other.positive) && isSubset(negative, other.negative);
+    }
+
+    /**
+     * Returns the smallest atom that is positive in one clause and negated in the other, or -1 if they do not clash.
+     */
+    public int clashingAtom(Clause other) {
+        final var first = firstCommon(positive, other.negative);
+        final var second = firstCommon(negative, other.positive);
+        if (first < 0) {
+            return second;
+        }
+        return second < 0 ? first : Math.min(first, second);
+    }
+
+    /**
+     * Returns the resolvent on {@code atom}: the union of both clauses without either literal of the atom.
+     */
+    public Clause resolve(Clause other, int atom) {
+        final var positive = union(this.positive, other.positive);
+        final var negative = union(this.negative, other.negative);
+        clear(positive, atom);
+        clear(negative, atom);
+        return new Clause(trim(positive), trim(negative));
+    }
+
+    /**
+     * Returns the negation of this clause as one unit clause per literal, in atom order.
+     */
+    public List<Clause> negate() {
+        final var units = new ArrayList<Clause>();
+        final var size = Math.max(positive.length, negative.length);
+        for (var atom = 0; atom < size << 6; atom++) {
+            if (contains(positive, atom)) {
+                units.add(unit(atom, true));
+            }
+            if (contains(negative, atom)) {
+                units.add(unit(atom, false));
+            }
+        }
+        return units;
+    }
+
+    public String toString(Atoms atoms) {
+        if (isEmpty()) {
+            return "NIL";
+        }
+
+        final var sb = new StringBuilder();
+        final var size = Math.max(positive.length, negative.length);
+        for (var atom = 0; atom < size << 6; atom++) {
+            if (contains(positive, atom)) {
+                sb.append(sb.length() == 0 ? "" : " v ").append(atoms.name(atom));
+            }
+            if (contains(negative, atom)) {
+                sb.append(sb.length() == 0 ? "" : " v ").append('~').append(atoms.name(atom));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Clause clause = (Clause) o;
+        return hash == clause.hash
+               && Arrays.equals(positive, clause.positive)
+               && Arrays.equals(negative, clause.negative);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static boolean isSubset(long[] a, long[] b) {
+        if (a.length > b.length) {
+            return false;
+        }
+        for (var i = 0; i < a.length; i++) {
+            if ((a[i] & ~b[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int firstCommon(long[] a, long[] b) {
+        final var size = Math.min(a.length, b.length);
+        for (var i = 0; i < size; i++) {
+            final var common = a[i] & b[i];
+            if (common != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(common);
+            }
+        }
+        return -1;
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        final var longer = a.length >= b.length ? a : b;
+        final var shorter = a.length >= b.length ? b : a;
+        final var words = longer.clone();
+        for (var i = 0; i < shorter.length; i++) {
+            words[i] |= shorter[i];
+        }
+        return words;
+    }
+
+    private static void clear(long[] words, int atom) {
+        if (atom >>> 6 < words.length) {
+            words[atom >>> 6] &= ~(1L << atom);
+        }
+    }
+
+    private static boolean contains(long[] words, int atom) {
+        return atom >>> 6 < words.length && (words[atom >>> 6] & 1L << atom) != 0;
+    }
+
+    private static long[] trim(long[] words) {
+        var size = words.length;
+        while (size > 0 && words[size - 1] == 0) {
+            size--;
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        return size == words.length ? words : Arrays.copyOf(words, size);
+    }
+}
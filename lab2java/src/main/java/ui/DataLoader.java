@@ -14,22 +14,22 @@ public final class DataLoader {
         this.dataPath = dataPath;
     }
 
-    public List<Set<String>> loadClauses(String fileName) {
-        final var clauses = new ArrayList<Set<String>>(new HashSet<>());
+    /**
+     * Loads one clause per line, interning the atoms it names into {@code atoms}.
+     */
+    public List<Clause> loadClauses(String fileName, Atoms atoms) {
+        final var clauses = new ArrayList<Clause>();
 
         for (var l : readFile(fileName)) {
             var line = l.toLowerCase();
 
-            var split = line.split(" v ");
-            var clause = new HashSet<>(Arrays.asList(split));
-
-            clauses.add(clause);
+            clauses.add(parseClause(line.split(" v "), atoms));
         }
 
         return clauses;
     }
 
-    public List<UserInput> loadUserInputs(String fileName) {
+    public List<UserInput> loadUserInputs(String fileName, Atoms atoms) {
         final var userInputs = new ArrayList<UserInput>();
 
         for (var l : readFile(fileName)) {
@@ -38,14 +38,24 @@ public final class DataLoader {
             var command = line.charAt(line.length() - 1);
 
             var split = line.replace(" " + command, "").split(" v ");
-            var clause = new HashSet<>(Arrays.asList(split));
-
-            userInputs.add(new UserInput(clause, command));
+            userInputs.add(new UserInput(parseClause(split, atoms), command));
         }
 
         return userInputs;
     }
 
+    private static Clause parseClause(String[] literals, Atoms atoms) {
+        final var ids = new int[literals.length];
+        final var negated = new boolean[literals.length];
+
+        for (var i = 0; i < literals.length; i++) {
+            negated[i] = literals[i].startsWith("~");
+            ids[i] = atoms.intern(negated[i] ? literals[i].substring(1) : literals[i]);
+        }
+
+        return Clause.of(ids, negated);
+    }
+
     private List<String> readFile(String fileName) {
         final var path = Paths.get(dataPath + fileName);
 
@@ -0,0 +1,40 @@
+package ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Clauses listed under every literal they hold, so the clauses that can be resolved with a given one are found by
+ * looking up the complements of its literals instead of trying every clause.
+ */
+public final class LiteralIndex {
+
+    private final List<List<Clause>> clauses;
+
+    public LiteralIndex(int atoms) {
+        this.clauses = new ArrayList<>(atoms << 1);
+        for (var i = 0; i < atoms << 1; i++) {
+            clauses.add(new ArrayList<>());
+        }
+    }
+
+    public void add(Clause clause) {
+        for (final var literal : clause.literals()) {
+            clauses.get(literal).add(clause);
+        }
+    }
+
+    /**
+     * Returns the indexed clauses holding the complement of some literal of {@code clause}, each once, in the order
+     * of its literals.
+     */
+    public Collection<Clause> clashing(Clause clause) {
+        final var clashing = new LinkedHashSet<Clause>();
+        for (final var literal : clause.literals()) {
+            clashing.addAll(clauses.get(literal ^ 1));
+        }
+        return clashing;
+    }
+}
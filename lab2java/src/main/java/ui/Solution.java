@@ -3,7 +3,6 @@ package ui;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Solution {
 
@@ -13,191 +12,151 @@ public class Solution {
 
     public static void main(String[] args) {
         final var arg = args[0];
+        final var atoms = new Atoms();
 
         if (arg.equals("resolution")) {
-            final var clauses = DATA_LOADER.loadClauses(args[1]);
-            plResolution(clauses);
+            final var clauses = DATA_LOADER.loadClauses(args[1], atoms);
+            plResolution(clauses, atoms);
         }
         if (arg.equals("cooking")) {
-            final var clauses = DATA_LOADER.loadClauses(args[1]);
-            final var userInputs = DATA_LOADER.loadUserInputs(args[2]);
-            resolveUserInputs(clauses, userInputs);
+            final var clauses = DATA_LOADER.loadClauses(args[1], atoms);
+            final var userInputs = DATA_LOADER.loadUserInputs(args[2], atoms);
+            resolveUserInputs(clauses, userInputs, atoms);
         }
     }
 
-    public static void resolveUserInputs(List<Set<String>> knowledgeBase, List<UserInput> userInputs) {
+    public static void resolveUserInputs(List<Clause> knowledgeBase, List<UserInput> userInputs, Atoms atoms) {
         for (final var userInput : userInputs) {
-            out.printf("User's command: %s %c%n", clauseToString(userInput.clause), userInput.command);
+            out.printf("User's command: %s %c%n", userInput.clause.toString(atoms), userInput.command);
 
             if (userInput.command == '+') {
                 knowledgeBase.add(userInput.clause);
-                out.printf("Added %s%n", clauseToString(userInput.clause));
+                out.printf("Added %s%n", userInput.clause.toString(atoms));
             }
             if (userInput.command == '-') {
                 knowledgeBase.remove(userInput.clause);
-                out.printf("Removed %s%n", clauseToString(userInput.clause));
+                out.printf("Removed %s%n", userInput.clause.toString(atoms));
             }
             if (userInput.command == '?') {
                 knowledgeBase.add(userInput.clause);
-                plResolution(knowledgeBase);
+                plResolution(knowledgeBase, atoms);
             }
 
             out.println();
         }
     }
 
-    public static void plResolution(List<Set<String>> entryClauses) {
+    /**
+     * Refutes the last clause with a given-clause loop under the set-of-support strategy. The premises start out
+     * processed and the negated goal unprocessed; each step takes the smallest unprocessed clause, resolves it with
+     * the processed clauses it clashes with, found through a {@link LiteralIndex}, and then moves it to the processed
+     * ones, so every pair is tried at most once and two premises never are. Resolvents that are tautologies or
+     * subsumed by a kept clause are dropped, and the rest remove the kept clauses they subsume, both found through a
+     * {@link SubsumptionIndex}. Returns whether the last clause was proven.
+     */
+    public static boolean plResolution(List<Clause> entryClauses, Atoms atoms) {
         final var lastClause = entryClauses.get(entryClauses.size() - 1);
-        final var invertedLastClause = invertClause(lastClause);
+        final var invertedLastClause = lastClause.negate();
         entryClauses.remove(lastClause);
 
-        final var clauses = new LinkedHashSet<Set<String>>(new HashSet<>());
-        clauses.addAll(entryClauses);
-        clauses.addAll(invertedLastClause);
-        removeUnnecessary(clauses);
+        final var clauses = new LinkedHashSet<Clause>();
+        final var subsumption = new SubsumptionIndex();
+        for (final var clause : entryClauses) {
+            addNecessary(clause, clauses, subsumption);
+        }
+        for (final var clause : invertedLastClause) {
+            addNecessary(clause, clauses, subsumption);
+        }
 
+        final var numbers = new HashMap<Clause, Integer>();
         int i = 0;
         for (final var clause : clauses) {
-            out.printf("%d. %s%n", ++i, clauseToString(clause));
+            numbers.put(clause, ++i);
+            out.printf("%d. %s%n", i, clause.toString(atoms));
         }
         out.println("===============");
 
-        final var new_ = new LinkedHashSet<Set<String>>(new HashSet<>());
-        final var all = new ArrayList<>(new HashSet<>());
-        all.addAll(clauses);
+        final var premises = new HashSet<>(entryClauses);
+        final var processed = new LiteralIndex(atoms.size());
+        final var unprocessed = new PriorityQueue<Clause>(
+            Comparator.comparingInt(Clause::size).thenComparing(numbers::get)
+        );
+        for (final var clause : clauses) {
+            if (premises.contains(clause)) {
+                processed.add(clause);
+            } else {
+                unprocessed.add(clause);
+            }
+        }
+
+        while (!unprocessed.isEmpty()) {
+            final var given = unprocessed.remove();
+            if (!clauses.contains(given)) {
+                continue;
+            }
+
+            for (final var other : processed.clashing(given)) {
+                if (!clauses.contains(other)) {
+                    continue;
+                }
 
-        while (true) {
-            for (final var t : selectClauses(clauses, entryClauses)) {
-                final var resolvent = plResolve(t.c1, t.c2);
-                if (resolvent == null) {
+                final var resolvent = plResolve(given, other);
+                if (!addNecessary(resolvent, clauses, subsumption)) {
                     continue;
                 }
 
-                all.add(resolvent);
+                numbers.put(resolvent, ++i);
                 out.printf(
                     "%d. %s (%d -> %s, %d -> %s)%n",
-                    ++i, clauseToString(resolvent),
-                    all.lastIndexOf(t.c1) + 1, clauseToString(t.c1),
-                    all.lastIndexOf(t.c2) + 1, clauseToString(t.c2)
+                    i, resolvent.toString(atoms),
+                    numbers.get(given), given.toString(atoms),
+                    numbers.get(other), other.toString(atoms)
                 );
 
                 if (resolvent.isEmpty()) {
                     out.println("===============");
-                    out.printf("[CONCLUSION]: %s is true%n", clauseToString(lastClause));
-                    return;
+                    out.printf("[CONCLUSION]: %s is true%n", lastClause.toString(atoms));
+                    return true;
                 }
-                new_.add(resolvent);
-            }
 
-            if (new HashSet<>(clauses).containsAll(new_)) {
-                out.println("===============");
-                out.printf("[CONCLUSION]: %s is unknown%n", clauseToString(lastClause));
-                return;
+                unprocessed.add(resolvent);
             }
 
-            clauses.addAll(new_);
-            removeUnnecessary(clauses);
-            new_.clear();
+            processed.add(given);
         }
-    }
-
-    public static List<Tuple> selectClauses(LinkedHashSet<Set<String>> clauses, List<Set<String>> entryClauses) {
-        final var tuples = new ArrayList<Tuple>();
 
-        for (final var c1 : clauses) {
-            if (entryClauses.contains(c1)) {
-                continue;
-            }
-
-            for (final var c2 : clauses) {
-                if (c1.equals(c2)) {
-                    continue;
-                }
-                tuples.add(new Tuple(c1, c2));
-            }
-        }
-
-        return tuples;
-    }
-
-    public static List<Set<String>> invertClause(Set<String> clause) {
-        return clause.stream().map(Solution::negate).map(Set::of).collect(Collectors.toList());
+        out.println("===============");
+        out.printf("[CONCLUSION]: %s is unknown%n", lastClause.toString(atoms));
+        return false;
     }
 
-    public static void removeUnnecessary(LinkedHashSet<Set<String>> clauses) {
-        final var clausesToRemove = new HashSet<Set<String>>(new HashSet<>());
-
-        for (final var c1 : clauses) {
-            if (isTautology(c1)) {
-                clausesToRemove.add(c1);
-                continue;
-            }
-
-            for (final var c2 : clauses) {
-                if (c1.equals(c2)) {
-                    continue;
-                }
-                if (isSubsetOf(c1, c2)) {
-                    clausesToRemove.add(c2);
-                }
-            }
+    /**
+     * Adds a clause unless it is a tautology or subsumed by one of {@code clauses}, removing the clauses it subsumes
+     * in turn, and returns whether it was added. {@code subsumption} indexes the same clauses.
+     */
+    public static boolean addNecessary(Clause clause, Set<Clause> clauses, SubsumptionIndex subsumption) {
+        if (clause.isTautology() || subsumption.isSubsumed(clause)) {
+            return false;
         }
 
-        clauses.removeAll(clausesToRemove);
-    }
-
-    public static Set<String> plResolve(Set<String> C1, Set<String> C2) {
-        final var resolvent = new HashSet<String>();
-        final var c1 = new HashSet<>(C1);
-        final var c2 = new HashSet<>(C2);
-
-        String literalToRemove = null;
-        for (final String literal : c1) {
-            if (c2.contains(negate(literal))) {
-                literalToRemove = nonNegated(literal);
-                break;
-            }
+        for (final var subsumed : subsumption.subsumedBy(clause)) {
+            subsumption.remove(subsumed);
+            clauses.remove(subsumed);
         }
+        subsumption.add(clause);
+        clauses.add(clause);
+        return true;
+    }
 
-        if (literalToRemove == null) {
+    /**
+     * Resolves two clauses on the first atom they clash on, or returns null if there is none.
+     */
+    public static Clause plResolve(Clause c1, Clause c2) {
+        final var atom = c1.clashingAtom(c2);
+        if (atom < 0) {
             return null;
         }
 
-        c1.remove(literalToRemove);
-        c1.remove(negated(literalToRemove));
-        c2.remove(literalToRemove);
-        c2.remove(negated(literalToRemove));
-
-        resolvent.addAll(c1);
-        resolvent.addAll(c2);
-        return resolvent;
-    }
-
-    public static boolean isTautology(Set<String> clause) {
-        return clause.stream().anyMatch(literal -> clause.contains(negate(literal)));
-    }
-
-    public static boolean isSubsetOf(Set<String> c1, Set<String> c2) {
-        return c2.containsAll(c1);
-    }
-
-    public static boolean isNegated(String literal) {
-        return literal.startsWith("~");
-    }
-
-    public static String negate(String literal) {
-        return isNegated(literal) ? literal.substring(1) : "~" + literal;
-    }
-
-    public static String negated(String literal) {
-        return isNegated(literal) ? literal : "~" + literal;
-    }
-
-    public static String nonNegated(String literal) {
-        return isNegated(literal) ? literal.substring(1) : literal;
-    }
-
-    public static String clauseToString(Set<String> clause) {
-        return clause.isEmpty() ? "NIL" : String.join(" v ", clause);
+        return c1.resolve(c2, atom);
     }
 }
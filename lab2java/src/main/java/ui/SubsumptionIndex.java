@@ -0,0 +1,138 @@
+package ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the stored clauses that subsume a clause or that it subsumes without comparing it against all of them.
+ *
+ * <p>Clauses are kept in a literal trie, each as the path of its literal codes in ascending order, see
+ * {@link Clause#literals()}. A clause that subsumes another is a path through some of its literals, so forward
+ * subsumption only follows the branches of literals the clause holds. A clause it subsumes holds every one of its
+ * literals, so backward subsumption only checks the clauses under its least frequent literal.
+ */
+public final class SubsumptionIndex {
+
+    private final Node root = new Node();
+
+    // clauses under each literal code they hold, for backward subsumption
+    private final Map<Integer, Set<Clause>> occurrences = new HashMap<>();
+
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void add(Clause clause) {
+        var node = root;
+        for (final var literal : clause.literals()) {
+            node = node.children.computeIfAbsent(literal, l -> new Node());
+        }
+        if (node.clause != null) {
+            return;
+        }
+        node.clause = clause;
+        size++;
+        for (final var literal : clause.literals()) {
+            occurrences.computeIfAbsent(literal, l -> new LinkedHashSet<>()).add(clause);
+        }
+    }
+
+    public void remove(Clause clause) {
+        final var literals = clause.literals();
+        if (!remove(root, literals, 0)) {
+            return;
+        }
+        size--;
+        for (final var literal : literals) {
+            occurrences.get(literal).remove(clause);
+        }
+    }
+
+    /**
+     * Returns whether some stored clause subsumes {@code clause}, which is then redundant (forward subsumption).
+     */
+    public boolean isSubsumed(Clause clause) {
+        return isSubsumed(root, clause.literals(), 0);
+    }
+
+    /**
+     * Returns the stored clauses that {@code clause} subsumes, which it makes redundant (backward subsumption).
+     */
+    public List<Clause> subsumedBy(Clause clause) {
+        final var subsumed = new ArrayList<Clause>();
+        if (clause.isEmpty()) {
+            collectAll(root, subsumed);
+            return subsumed;
+        }
+
+        Set<Clause> candidates = null;
+        for (final var literal : clause.literals()) {
+            final var holding = occurrences.getOrDefault(literal, Set.of());
+            if (candidates == null || holding.size() < candidates.size()) {
+                candidates = holding;
+            }
+        }
+        for (final var candidate : candidates) {
+            if (clause.subsumes(candidate)) {
+                subsumed.add(candidate);
+            }
+        }
+        return subsumed;
+    }
+
+    private static boolean isSubsumed(Node node, int[] literals, int from) {
+        if (node.clause != null) {
+            return true;
+        }
+        for (var i = from; i < literals.length; i++) {
+            final var child = node.children.get(literals[i]);
+            if (child != null && isSubsumed(child, literals, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectAll(Node node, List<Clause> clauses) {
+        if (node.clause != null) {
+            clauses.add(node.clause);
+        }
+        for (final var child : node.children.values()) {
+            collectAll(child, clauses);
+        }
+    }
+
+    /**
+     * Removes the clause ending at the path from {@code from} on and prunes the nodes left empty, returning whether it
+     * was stored.
+     */
+    private static boolean remove(Node node, int[] literals, int from) {
+        if (from == literals.length) {
+            final var removed = node.clause != null;
+            node.clause = null;
+            return removed;
+        }
+        final var child = node.children.get(literals[from]);
+        if (child == null) {
+            return false;
+        }
+        final var removed = remove(child, literals, from + 1);
+        if (child.clause == null && child.children.isEmpty()) {
+            node.children.remove(literals[from]);
+        }
+        return removed;
+    }
+
+    private static final class Node {
+
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Clause clause;
+    }
+}
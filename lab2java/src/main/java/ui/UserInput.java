@@ -1,14 +1,12 @@
 package ui;
 
-import java.util.Set;
-
 public class UserInput {
 
-    public final Set<String> clause;
+    public final Clause clause;
 
     public final char command;
 
-    public UserInput(Set<String> clause, char command) {
+    public UserInput(Clause clause, char command) {
         this.clause = clause;
         this.command = command;
     }
@@ -0,0 +1,79 @@
+package ui.benchmark;
+
+import ui.Atoms;
+import ui.DataLoader;
+import ui.Solution;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Times refutation resolution, loading included, on the bundled clause files or the ones given, with the output of
+ * {@link Solution} thrown away.
+ *
+ * <pre>
+ * java -cp target/classes ui.benchmark.ResolutionBenchmark [iterations] [file ...]
+ * </pre>
+ */
+public class ResolutionBenchmark {
+
+    private static final int WARMUP = 3;
+
+    public static void main(String[] args) {
+        final var iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        final var fileNames = args.length > 1 ? List.of(args).subList(1, args.length) : bundledFiles();
+        final var loader = new DataLoader("files/");
+
+        // Solution.out wraps System.out when the class is first used, so it has to be swapped out before that
+        final var console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        for (final var fileName : fileNames) {
+            for (var i = 0; i < WARMUP; i++) {
+                resolve(loader, fileName);
+            }
+
+            var best = Long.MAX_VALUE;
+            var total = 0L;
+            for (var i = 0; i < iterations; i++) {
+                final var start = System.nanoTime();
+                resolve(loader, fileName);
+                final var elapsed = System.nanoTime() - start;
+                best = Math.min(best, elapsed);
+                total += elapsed;
+            }
+
+            console.printf(
+                Locale.US,
+                "%-45s avg %10.3f ms  best %10.3f ms%n",
+                fileName,
+                total / 1e6 / iterations,
+                best / 1e6
+            );
+        }
+    }
+
+    private static void resolve(DataLoader loader, String fileName) {
+        final var atoms = new Atoms();
+        Solution.plResolution(loader.loadClauses(fileName, atoms), atoms);
+    }
+
+    private static List<String> bundledFiles() {
+        try (final var files = Files.list(Path.of("files"))) {
+            return files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.startsWith("resolution_") || name.startsWith("new_example_"))
+                        .sorted()
+                        .collect(Collectors.toList());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return List.of();
+    }
+}
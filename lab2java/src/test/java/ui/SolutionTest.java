@@ -0,0 +1,133 @@
+package ui;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SolutionTest {
+
+    private static final DataLoader LOADER = new DataLoader("files/");
+
+    // atoms of the random clauses, spread over several words of the bitsets
+    private static final int ATOMS = 8;
+
+    private static final int ATOM_STRIDE = 37;
+
+    static LongStream seeds() {
+        return LongStream.rangeClosed(1, 300);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "resolution_ai.txt, true",
+        "resolution_chicken_alfredo.txt, true",
+        "resolution_chicken_alfredo_nomilk.txt, false",
+        "resolution_chicken_broccoli_alfredo_big.txt, true",
+        "resolution_coffee.txt, true",
+        "resolution_coffee_noheater.txt, false",
+        "resolution_coffee_or_tea.txt, true",
+        "resolution_coffee_or_tea_nopowder.txt, true",
+        "resolution_heldout_goal_isnegated.txt, true",
+        "resolution_heldout_large_chain.txt, true",
+        "resolution_heldout_small.txt, true",
+        "resolution_heldout_small_2.txt, false",
+        "resolution_heldout_tautology.txt, false",
+        "resolution_heldout_tautology_2.txt, true",
+        "resolution_heldout_tautology_3.txt, false",
+        "resolution_heldout_tautology_4.txt, false",
+        "resolution_small_example.txt, true",
+        "resolution_small_example_2.txt, true",
+        "resolution_small_example_3.txt, false",
+        "resolution_small_example_4.txt, true",
+        "new_example_1.txt, false",
+        "new_example_2.txt, true",
+        "new_example_3.txt, true",
+        "new_example_4.txt, true",
+        "new_example_5.txt, true",
+        "new_example_6.txt, true"
+    })
+    void reachesTheBundledConclusions(String fileName, boolean proven) {
+        final var atoms = new Atoms();
+
+        assertEquals(proven, Solution.plResolution(LOADER.loadClauses(fileName, atoms), atoms));
+    }
+
+    /**
+     * Set of support is only complete when the premises are satisfiable, so unsatisfiable knowledge bases are skipped.
+     */
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void provesExactlyWhatASatisfiableKnowledgeBaseEntails(long seed) {
+        final var random = new Random(seed);
+        final var atoms = new Atoms();
+        for (var i = 0; i < ATOMS * ATOM_STRIDE; i++) {
+            atoms.intern("a" + i);
+        }
+        final var clauses = new ArrayList<Clause>();
+        final var premises = 2 + random.nextInt(10);
+        for (var i = 0; i < premises; i++) {
+            clauses.add(randomClause(random, 1 + random.nextInt(3)));
+        }
+        if (!isSatisfiable(clauses)) {
+            return;
+        }
+        final var goal = randomClause(random, 1 + random.nextInt(2));
+        final var entailed = entails(clauses, goal);
+        clauses.add(goal);
+
+        assertEquals(entailed, Solution.plResolution(clauses, atoms), clauses.toString());
+    }
+
+    private static Clause randomClause(Random random, int size) {
+        final var ids = new int[size];
+        final var negated = new boolean[size];
+        for (var i = 0; i < size; i++) {
+            ids[i] = random.nextInt(ATOMS) * ATOM_STRIDE;
+            negated[i] = random.nextBoolean();
+        }
+        return Clause.of(ids, negated);
+    }
+
+    private static boolean isSatisfiable(List<Clause> clauses) {
+        for (var assignment = 0; assignment < 1 << ATOMS; assignment++) {
+            if (holds(clauses, assignment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean entails(List<Clause> clauses, Clause goal) {
+        for (var assignment = 0; assignment < 1 << ATOMS; assignment++) {
+            if (holds(clauses, assignment) && !holds(goal, assignment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean holds(List<Clause> clauses, int assignment) {
+        return clauses.stream().allMatch(clause -> holds(clause, assignment));
+    }
+
+    /**
+     * Returns whether some literal of the clause is true when atom {@code i * ATOM_STRIDE} has bit {@code i} of
+     * {@code assignment} as its value.
+     */
+    private static boolean holds(Clause clause, int assignment) {
+        for (final var literal : clause.literals()) {
+            final var value = (assignment >>> (literal >>> 1) / ATOM_STRIDE & 1) == 1;
+            if (value != ((literal & 1) == 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
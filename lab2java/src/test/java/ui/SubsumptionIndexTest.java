@@ -0,0 +1,69 @@
+package ui;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubsumptionIndexTest {
+
+    static LongStream seeds() {
+        return LongStream.rangeClosed(1, 20);
+    }
+
+    /**
+     * Adds and removes random clauses, some of them empty or repeated, and after every step compares both queries for
+     * a random clause with a linear scan over the clauses stored.
+     */
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void matchesALinearScan(long seed) {
+        final var random = new Random(seed);
+        final var index = new SubsumptionIndex();
+        final var stored = new LinkedHashSet<Clause>();
+
+        for (var step = 0; step < 2_000; step++) {
+            final var clause = randomClause(random);
+            if (random.nextInt(3) == 0 && !stored.isEmpty()) {
+                final var removed = new ArrayList<>(stored).get(random.nextInt(stored.size()));
+                index.remove(removed);
+                stored.remove(removed);
+            } else {
+                index.add(clause);
+                stored.add(clause);
+            }
+            assertEquals(stored.size(), index.size());
+
+            final var query = randomClause(random);
+            assertEquals(stored.stream().anyMatch(c -> c.subsumes(query)), index.isSubsumed(query));
+            assertEquals(subsumedByScan(stored, query), new HashSet<>(index.subsumedBy(query)));
+        }
+    }
+
+    private static Set<Clause> subsumedByScan(Set<Clause> stored, Clause clause) {
+        return stored.stream().filter(clause::subsumes).collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns a clause of up to four literals over 200 atoms, so it spans several bitset words, and mostly over the
+     * first few atoms, so clauses often subsume each other.
+     */
+    private static Clause randomClause(Random random) {
+        final var size = random.nextInt(5);
+        final var ids = new int[size];
+        final var negated = new boolean[size];
+        for (var i = 0; i < size; i++) {
+            ids[i] = random.nextInt(4) == 0 ? random.nextInt(200) : random.nextInt(6);
+            negated[i] = random.nextBoolean();
+        }
+        return Clause.of(ids, negated);
+    }
+}